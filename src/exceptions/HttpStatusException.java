@@ -0,0 +1,48 @@
+package exceptions;
+
+import java.io.IOException;
+
+/**
+ * Excepción que se lanza cuando una API responde con un código de estado distinto de 200.
+ */
+public class HttpStatusException extends IOException {
+    private final int statusCode;
+
+    /**
+     * Crea una nueva instancia de HttpStatusException con el código de estado recibido.
+     *
+     * @param statusCode el código de estado de la respuesta
+     */
+    public HttpStatusException(int statusCode) {
+        super("HTTP " + statusCode);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Obtiene el código de estado de la respuesta.
+     *
+     * @return el código de estado
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Verifica si el error puede ser pasajero: un error del servidor o un exceso de consultas.
+     *
+     * @return true si vale la pena reintentar la consulta, false en caso contrario
+     */
+    public boolean isRetryable() {
+        return statusCode >= 500 || statusCode == 429;
+    }
+
+    /**
+     * Obtiene el mensaje de la excepción.
+     *
+     * @return el mensaje de la excepción
+     */
+    @Override
+    public String getMessage() {
+        return super.getMessage();
+    }
+}
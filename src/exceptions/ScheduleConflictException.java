@@ -0,0 +1,26 @@
+package exceptions;
+
+/**
+ * Excepción que se lanza cuando una función se superpone con otra función de la misma sala.
+ */
+public class ScheduleConflictException extends Exception {
+
+    /**
+     * Crea una nueva instancia de ScheduleConflictException con un mensaje específico.
+     *
+     * @param message el mensaje que describe la excepción
+     */
+    public ScheduleConflictException(String message) {
+        super(message);
+    }
+
+    /**
+     * Obtiene el mensaje de la excepción.
+     *
+     * @return el mensaje de la excepción
+     */
+    @Override
+    public String getMessage() {
+        return super.getMessage();
+    }
+}
@@ -0,0 +1,21 @@
+package interfaces;
+
+import modeling.ScreeningRoom;
+
+/**
+ * Interfaz para puntuar un bloque de asientos contiguos de una fila.
+ * Permite cambiar el criterio con el que se eligen los mejores asientos disponibles.
+ */
+public interface ISeatScorer {
+
+    /**
+     * Calcula la puntuación de un bloque de asientos contiguos. Un valor mayor indica un bloque mejor.
+     *
+     * @param screeningRoom la sala de proyección
+     * @param row           la fila del bloque, comenzando en 0
+     * @param firstSeat     la posición del primer asiento del bloque dentro de la fila, comenzando en 0
+     * @param count         la cantidad de asientos del bloque
+     * @return la puntuación del bloque
+     */
+    double score(ScreeningRoom screeningRoom, int row, int firstSeat, int count);
+}
@@ -1,8 +1,7 @@
 package interfaces;
 
 import exceptions.NotAvailableForSaleException;
-import modeling.ScreeningRoom;
-import modeling.Time;
+import modeling.Showing;
 
 /**
  * Interfaz para la gestión de entradas.
@@ -13,16 +12,14 @@ import modeling.Time;
 public interface ITicketManagement<T, E> {
 
     /**
-     * Vende una entrada para una película.
+     * Vende una entrada para una función.
      *
-     * @param title          el título de la película
-     * @param time           el tiempo de la función
-     * @param screeningRoom  la sala de proyección
+     * @param showing        la función (película, horario y sala de proyección)
      * @param seat           el asiento de la entrada
      * @param element        el elemento de gestión de entradas
      * @return la entrada vendida
      * @throws NotAvailableForSaleException si la entrada no está disponible para la venta
      */
-    T sellTicket(String title, Time time, ScreeningRoom screeningRoom, String seat, E element) throws NotAvailableForSaleException;
+    T sellTicket(Showing showing, String seat, E element) throws NotAvailableForSaleException;
 }
 
@@ -0,0 +1,52 @@
+package modeling;
+
+import interfaces.ISeatScorer;
+
+import java.io.Serializable;
+
+/**
+ * Puntúa los bloques de asientos penalizando los que quedan cortados por un pasillo,
+ * según la distribución de pasillos de cada sala. Entre bloques con los mismos pasillos
+ * se usa el criterio de otro puntuador.
+ */
+public class AisleSeatScorer implements ISeatScorer, Serializable {
+    private static final double AISLE_PENALTY = 100;
+
+    private final ISeatScorer tieBreaker;
+
+    /**
+     * Crea un puntuador que desempata los bloques según su cercanía al centro de la sala.
+     */
+    public AisleSeatScorer() {
+        this(new CenterSeatScorer());
+    }
+
+    /**
+     * Crea un puntuador que desempata los bloques con el puntuador especificado.
+     *
+     * @param tieBreaker el puntuador usado para desempatar
+     */
+    public AisleSeatScorer(ISeatScorer tieBreaker) {
+        this.tieBreaker = tieBreaker;
+    }
+
+    /**
+     * Calcula la puntuación de un bloque, restando una penalización por cada pasillo que lo corta.
+     *
+     * @param screeningRoom la sala de proyección
+     * @param row           la fila del bloque, comenzando en 0
+     * @param firstSeat     la posición del primer asiento del bloque dentro de la fila, comenzando en 0
+     * @param count         la cantidad de asientos del bloque
+     * @return la puntuación del bloque
+     */
+    @Override
+    public double score(ScreeningRoom screeningRoom, int row, int firstSeat, int count) {
+        int aisles = 0;
+        for (int seat = firstSeat; seat < firstSeat + count - 1; seat++) {
+            if (screeningRoom.isAisleAfter(seat)) {
+                aisles++;
+            }
+        }
+        return tieBreaker.score(screeningRoom, row, firstSeat, count) - aisles * AISLE_PENALTY;
+    }
+}
@@ -0,0 +1,228 @@
+package modeling;
+
+import java.io.Serializable;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Índice de autocompletado de títulos de películas y de nombres de actores y directores.
+ * Cada nombre se guarda en un mapa ordenado una vez por cada palabra, desde esa palabra hasta el final
+ * ("tom hanks" y "hanks"), de modo que se puede completar escribiendo el comienzo de cualquier palabra.
+ * Las claves se comparan sin mayúsculas ni acentos. Completar un prefijo es una búsqueda de rango en el mapa:
+ * cuesta O(log n) más la cantidad de sugerencias recorridas.
+ * Un mismo nombre puede aparecer en varias películas; se lleva la cuenta de cuántas lo usan y se quita
+ * del índice cuando deja de usarlo la última.
+ */
+public class AutocompleteIndex implements Serializable {
+    private static final char SEPARATOR = '\u0000'; // Separa el texto buscable del resto de la clave
+    private static final char MAX_CHAR = '￿';
+
+    private final TreeMap<String, Completion> completions; // Sugerencias por clave normalizada
+
+    /**
+     * Tipo de sugerencia.
+     */
+    public enum Kind {
+        TITLE,
+        PERSON
+    }
+
+    /**
+     * Sugerencia de autocompletado con la cantidad de películas que la usan.
+     */
+    private static class Completion implements Serializable {
+        private final String text;
+        private final Kind kind;
+        private int references;
+
+        private Completion(String text, Kind kind) {
+            this.text = text;
+            this.kind = kind;
+            this.references = 0;
+        }
+    }
+
+    /**
+     * Crea un índice vacío.
+     */
+    public AutocompleteIndex() {
+        completions = new TreeMap<>();
+    }
+
+    /**
+     * Agrega las sugerencias de una película: su título, su director y sus actores.
+     *
+     * @param movie la película
+     */
+    public void add(Movie movie) {
+        add(movie.getTitle(), Kind.TITLE, 1);
+        for (String person : people(movie)) {
+            add(person, Kind.PERSON, 1);
+        }
+    }
+
+    /**
+     * Agrega las sugerencias de un grupo de películas. Los nombres que se repiten en el grupo, como los de un actor
+     * con varias películas, se agregan una sola vez con todas sus referencias.
+     *
+     * @param movies las películas
+     */
+    public void addAll(List<Movie> movies) {
+        HashMap<String, Integer> titles = new HashMap<>();
+        HashMap<String, Integer> people = new HashMap<>();
+        for (Movie movie : movies) {
+            titles.merge(movie.getTitle(), 1, Integer::sum);
+            for (String person : people(movie)) {
+                people.merge(person, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<String, Integer> title : titles.entrySet()) {
+            add(title.getKey(), Kind.TITLE, title.getValue());
+        }
+        for (Map.Entry<String, Integer> person : people.entrySet()) {
+            add(person.getKey(), Kind.PERSON, person.getValue());
+        }
+    }
+
+    /**
+     * Quita las sugerencias de una película. Los nombres que siguen apareciendo en otras películas se conservan.
+     *
+     * @param movie la película
+     */
+    public void remove(Movie movie) {
+        remove(movie.getTitle(), Kind.TITLE);
+        for (String person : people(movie)) {
+            remove(person, Kind.PERSON);
+        }
+    }
+
+    /**
+     * Obtiene las sugerencias que completan un prefijo, en orden alfabético.
+     *
+     * @param prefix el texto escrito hasta el momento
+     * @param kind   el tipo de sugerencia buscado, o null para cualquier tipo
+     * @param limit  la cantidad máxima de sugerencias
+     * @return las sugerencias encontradas, sin repetir
+     */
+    public LinkedList<String> complete(String prefix, Kind kind, int limit) {
+        LinkedHashSet<String> result = new LinkedHashSet<>();
+        String normalized = normalize(prefix);
+        if (!normalized.isEmpty() && limit > 0) {
+            for (Completion completion : completions.subMap(normalized, normalized + MAX_CHAR).values()) {
+                if (kind == null || completion.kind == kind) {
+                    result.add(completion.text);
+                    if (result.size() == limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return new LinkedList<>(result);
+    }
+
+    /**
+     * Agrega una sugerencia, o suma referencias si ya existía.
+     *
+     * @param text       el texto de la sugerencia
+     * @param kind       el tipo de sugerencia
+     * @param references la cantidad de películas que la usan
+     */
+    private void add(String text, Kind kind, int references) {
+        for (String key : keys(text, kind)) {
+            completions.computeIfAbsent(key, k -> new Completion(text, kind)).references += references;
+        }
+    }
+
+    /**
+     * Resta una referencia a una sugerencia, y la quita si ya no la usa ninguna película.
+     *
+     * @param text el texto de la sugerencia
+     * @param kind el tipo de sugerencia
+     */
+    private void remove(String text, Kind kind) {
+        for (String key : keys(text, kind)) {
+            Completion completion = completions.get(key);
+            if (completion != null && --completion.references == 0) {
+                completions.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Genera las claves de una sugerencia: una por cada palabra, desde esa palabra hasta el final del texto.
+     * La clave termina con el tipo y el texto original para distinguir sugerencias que comparten palabras.
+     *
+     * @param text el texto de la sugerencia
+     * @param kind el tipo de sugerencia
+     * @return las claves de la sugerencia
+     */
+    private static LinkedList<String> keys(String text, Kind kind) {
+        LinkedList<String> keys = new LinkedList<>();
+        String normalized = normalize(text);
+        String suffix = SEPARATOR + kind.name() + SEPARATOR + text;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || (normalized.charAt(i - 1) == ' ' && normalized.charAt(i) != ' ')) {
+                keys.add(normalized.substring(i) + suffix);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Obtiene los nombres del director y de los actores de una película.
+     *
+     * @param movie la película
+     * @return los nombres, sin repetir
+     */
+    private static LinkedHashSet<String> people(Movie movie) {
+        LinkedHashSet<String> people = new LinkedHashSet<>();
+        for (String field : new String[]{movie.getDirector(), movie.getActors()}) {
+            if (field != null) {
+                for (String name : field.split(",")) {
+                    String person = name.trim();
+                    if (!person.isEmpty() && !person.equalsIgnoreCase("N/A")) {
+                        people.add(person);
+                    }
+                }
+            }
+        }
+        return people;
+    }
+
+    /**
+     * Normaliza un texto para compararlo: sin acentos, en minúsculas y con un solo espacio entre palabras.
+     * Los textos sin acentos ni caracteres especiales, que son la mayoría, se normalizan sin expresiones regulares.
+     *
+     * @param text el texto
+     * @return el texto normalizado
+     */
+    private static String normalize(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                String withoutAccents = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+                return withoutAccents.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+            }
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,217 @@
+package modeling;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Carga películas desde un archivo local con una respuesta de OMDb por línea (JSON lines), sin consultar la API.
+ * El archivo se lee por partes de BATCH_SIZE líneas que se analizan en paralelo, en tantos hilos como procesadores.
+ * Como mucho hay dos partes por hilo leídas y sin aplicar, así que la memoria usada no depende del tamaño del archivo.
+ * Las películas se entregan por partes en el orden del archivo, siempre desde el hilo que llamó a load, y las
+ * respuestas de las aceptadas se guardan en la caché de OMDb con una sola escritura por parte.
+ * Solo el análisis de las líneas escala con los procesadores; el registro de cada parte en los índices se hace
+ * en el hilo que llamó a load y es lo que termina limitando la velocidad de la carga.
+ */
+public class CatalogLoader {
+    private static final int BATCH_SIZE = 2048;
+
+    private final Path path;
+    private final int threads;
+    private int loaded; // Películas aceptadas
+    private int rejected; // Películas válidas que no se aceptaron, por ejemplo por estar repetidas
+    private int invalid; // Líneas que no son una película válida
+    private long elapsedNanos;
+
+    /**
+     * Resultado de analizar una línea del archivo.
+     */
+    private static class Record {
+        private final Movie movie; // null si la línea no es una película válida
+        private final String json;
+
+        private Record(Movie movie, String json) {
+            this.movie = movie;
+            this.json = json;
+        }
+    }
+
+    /**
+     * Crea un cargador para un archivo.
+     *
+     * @param path la ruta del archivo
+     */
+    public CatalogLoader(Path path) {
+        this.path = path;
+        this.threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Carga las películas del archivo.
+     *
+     * @param register recibe las películas de cada parte en el orden del archivo, y devuelve las que aceptó
+     *                 en el mismo orden
+     * @throws IOException si no se pudo leer el archivo
+     */
+    public void load(Function<List<Movie>, List<Movie>> register) throws IOException {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<ArrayList<Record>>> pending = new ArrayDeque<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            ArrayList<String> batch = new ArrayList<>(BATCH_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    batch.add(line);
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    pending.add(submit(executor, batch));
+                    batch = new ArrayList<>(BATCH_SIZE);
+                    if (pending.size() >= 2 * threads) {
+                        apply(pending.poll(), register);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                pending.add(submit(executor, batch));
+            }
+            while (!pending.isEmpty()) {
+                apply(pending.poll(), register);
+            }
+        } finally {
+            executor.shutdownNow();
+            elapsedNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de películas aceptadas.
+     *
+     * @return la cantidad de películas cargadas
+     */
+    public int getLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Obtiene la cantidad de películas válidas que no se aceptaron.
+     *
+     * @return la cantidad de películas rechazadas
+     */
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Obtiene la cantidad de líneas que no son una película válida.
+     *
+     * @return la cantidad de líneas inválidas
+     */
+    public int getInvalid() {
+        return invalid;
+    }
+
+    /**
+     * Devuelve un resumen de la última carga.
+     *
+     * @return las cantidades de películas y la velocidad de la carga
+     */
+    @Override
+    public String toString() {
+        double seconds = elapsedNanos / 1e9;
+        long records = (long) loaded + rejected + invalid;
+        return String.format(Locale.ROOT, "Loaded %d movies (%d rejected, %d invalid records) in %.2f s, %.0f records/s",
+                loaded, rejected, invalid, seconds, seconds == 0 ? 0 : records / seconds);
+    }
+
+    /**
+     * Envía una parte del archivo a analizar.
+     *
+     * @param executor los hilos de análisis
+     * @param batch    las líneas de la parte
+     * @return las líneas analizadas, en el mismo orden
+     */
+    private static Future<ArrayList<Record>> submit(ExecutorService executor, ArrayList<String> batch) {
+        return executor.submit(() -> {
+            ArrayList<Record> records = new ArrayList<>(batch.size());
+            for (String line : batch) {
+                records.add(parse(line));
+            }
+            return records;
+        });
+    }
+
+    /**
+     * Entrega las películas de una parte analizada y guarda sus respuestas en la caché.
+     *
+     * @param future   la parte analizada
+     * @param register recibe las películas de la parte, y devuelve las que aceptó en el mismo orden
+     * @throws IOException si falló el análisis de la parte
+     */
+    private void apply(Future<ArrayList<Record>> future, Function<List<Movie>, List<Movie>> register) throws IOException {
+        ArrayList<Record> records;
+        try {
+            records = future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Catalog load interrupted", exception);
+        } catch (ExecutionException exception) {
+            throw new IOException("Could not parse catalog: " + exception.getCause().getMessage(), exception.getCause());
+        }
+        ArrayList<Movie> movies = new ArrayList<>(records.size());
+        for (Record record : records) {
+            if (record.movie == null) {
+                invalid++;
+            } else {
+                movies.add(record.movie);
+            }
+        }
+        List<Movie> accepted = register.apply(movies);
+        loaded += accepted.size();
+        rejected += movies.size() - accepted.size();
+
+        // Las aceptadas están en el mismo orden que las analizadas, así que alcanza con recorrer ambas a la vez
+        LinkedHashMap<String, String> responses = new LinkedHashMap<>();
+        int next = 0;
+        for (Record record : records) {
+            if (next < accepted.size() && record.movie == accepted.get(next)) {
+                responses.put(record.movie.getTitle(), record.json);
+                next++;
+            }
+        }
+        IMDb.cacheResponses(responses);
+    }
+
+    /**
+     * Analiza una línea del archivo.
+     *
+     * @param line la línea, con una respuesta de OMDb
+     * @return la película de la línea, o un registro sin película si la línea no es válida
+     */
+    private static Record parse(String line) {
+        try {
+            JSONObject jsonObject = new JSONObject(line);
+            if (!jsonObject.optBoolean("Response", true)) {
+                return new Record(null, null);
+            }
+            return new Record(IMDb.toMovie(jsonObject), line.trim());
+        } catch (JSONException | RuntimeException exception) {
+            return new Record(null, null);
+        }
+    }
+}
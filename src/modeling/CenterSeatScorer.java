@@ -0,0 +1,29 @@
+package modeling;
+
+import interfaces.ISeatScorer;
+
+import java.io.Serializable;
+
+/**
+ * Puntúa los bloques de asientos según su cercanía al centro de la sala,
+ * tanto entre filas como dentro de la fila.
+ */
+public class CenterSeatScorer implements ISeatScorer, Serializable {
+
+    /**
+     * Calcula la puntuación de un bloque como el opuesto de su distancia al centro de la sala.
+     *
+     * @param screeningRoom la sala de proyección
+     * @param row           la fila del bloque, comenzando en 0
+     * @param firstSeat     la posición del primer asiento del bloque dentro de la fila, comenzando en 0
+     * @param count         la cantidad de asientos del bloque
+     * @return la puntuación del bloque, mayor cuanto más centrado esté
+     */
+    @Override
+    public double score(ScreeningRoom screeningRoom, int row, int firstSeat, int count) {
+        double rowCenter = (screeningRoom.getRows() - 1) / 2.0;
+        double seatCenter = (screeningRoom.getMaxSeatsPerRow() - 1) / 2.0;
+        double blockCenter = firstSeat + (count - 1) / 2.0;
+        return -(Math.abs(row - rowCenter) + Math.abs(blockCenter - seatCenter));
+    }
+}
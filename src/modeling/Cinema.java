@@ -2,7 +2,9 @@ package modeling;
 import exceptions.*;
 
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
 
  /**
  * La clase Cinema representa un cine que gestiona horarios, taquillas y salas de proyección.
@@ -124,59 +126,127 @@ public class Cinema implements Serializable {
     /**
      * Compra una entrada en línea para una película, hora, sala de proyección y asiento específicos.
      *
-     * @param title         El título de la película.
-     * @param time          La hora de la proyección.
-     * @param screeningRoom La sala de proyección.
+     * @param showing       La función (película, hora y sala de proyección).
      * @param seat          El número del asiento.
      * @return Una cadena con el código para canjear la entrada comprada.
      * @throws NotAvailableForSaleException si la entrada no está disponible para la venta.
      */
-    public String buyTicketOnline(String title, Time time, ScreeningRoom screeningRoom, String seat)
+    public String buyTicketOnline(Showing showing, String seat)
             throws NotAvailableForSaleException {
-        return getOnlineTicketOffice().sellTicket(title, time, screeningRoom, seat, getCinemaTicketOffice());
+        return getOnlineTicketOffice().sellTicket(showing, seat, getCinemaTicketOffice());
     }
 
     /**
-     * Agrega una nueva hora para una película en el índice especificado.
+     * Compra en línea un grupo de entradas para una misma función, de manera atómica (todas o ninguna).
      *
-     * @param index  El índice de la película.
-     * @param hour   La hora de la nueva proyección.
-     * @param minute El minuto de la nueva proyección.
+     * @param showing       La función (película, hora y sala de proyección).
+     * @param seats         Los números de los asientos.
+     * @return Una cadena con el código para canjear todas las entradas compradas.
+     * @throws NotAvailableForSaleException si alguna de las entradas no está disponible para la venta.
+     */
+    public String buyTicketsOnline(Showing showing, LinkedList<String> seats)
+            throws NotAvailableForSaleException {
+        return getOnlineTicketOffice().sellTickets(showing, seats, getCinemaTicketOffice());
+    }
+
+    /**
+     * Retiene en línea un grupo de asientos para una función mientras se completa el pago.
+     *
+     * @param showing       La función (película, hora y sala de proyección).
+     * @param seats         Los números de los asientos.
+     * @return El código de la retención.
+     * @throws NotAvailableForSaleException si alguno de los asientos no está disponible para la venta.
+     */
+    public String holdTicketsOnline(Showing showing, LinkedList<String> seats)
+            throws NotAvailableForSaleException {
+        return getOnlineTicketOffice().holdTickets(showing, seats, getCinemaTicketOffice());
+    }
+
+    /**
+     * Confirma una retención en línea una vez completado el pago.
+     *
+     * @param holdCode El código de la retención.
+     * @return Una cadena con el código para canjear las entradas compradas.
+     * @throws NotFoundException si la retención no existe o ya venció.
+     */
+    public String confirmOnlineHold(String holdCode) throws NotFoundException {
+        return getOnlineTicketOffice().confirmHold(holdCode, getCinemaTicketOffice());
+    }
+
+    /**
+     * Libera una retención en línea, dejando sus asientos disponibles.
+     *
+     * @param holdCode El código de la retención.
+     * @throws NotFoundException si la retención no existe o ya venció.
+     */
+    public void releaseOnlineHold(String holdCode) throws NotFoundException {
+        getCinemaTicketOffice().releaseHold(holdCode);
+    }
+
+    /**
+     * Agrega una nueva función para una película en el índice especificado, en una de sus salas.
+     *
+     * @param index         El índice de la película.
+     * @param screeningRoom La sala de proyección de la función.
+     * @param hour          La hora de la nueva proyección.
+     * @param minute        El minuto de la nueva proyección.
      * @throws NotFoundException      si la película no se encuentra.
      * @throws AlreadyExistsException si la hora ya existe para la película.
      * @throws InvalidIndexException  si el índice es inválido.
+     * @throws ScheduleConflictException si la función se superpone con otra función de la misma sala.
      */
-    public void addTime(int index, int hour, int minute)
-            throws NotFoundException, AlreadyExistsException, InvalidIndexException {
-        getShowtimes().addTime(index, hour, minute, getCinemaTicketOffice());
+    public void addTime(int index, ScreeningRoom screeningRoom, int hour, int minute)
+            throws NotFoundException, AlreadyExistsException, InvalidIndexException, ScheduleConflictException {
+        getShowtimes().addTime(index, screeningRoom, hour, minute, getCinemaTicketOffice());
     }
 
     /**
      * Compra una entrada en el cine para una película, hora, sala de proyección y asiento específicos.
      *
-     * @param title         El título de la película.
-     * @param time          La hora de la proyección.
-     * @param screeningRoom La sala de proyección.
+     * @param showing       La función (película, hora y sala de proyección).
      * @param seat          El número del asiento.
      * @return El objeto MovieTicket que representa la entrada comprada.
      * @throws NotAvailableForSaleException si la entrada no está disponible para la venta.
      */
-    public MovieTicket buyTicketAtCinema(String title, Time time, ScreeningRoom screeningRoom, String seat)
+    public MovieTicket buyTicketAtCinema(Showing showing, String seat)
+            throws NotAvailableForSaleException {
+        return getCinemaTicketOffice().sellTicket(showing, seat, cinemaTicketOffice.getPrice());
+    }
+
+    /**
+     * Compra en el cine un grupo de entradas para una misma función, de manera atómica (todas o ninguna).
+     *
+     * @param showing       La función (película, hora y sala de proyección).
+     * @param seats         Los números de los asientos.
+     * @return Los objetos MovieTicket que representan las entradas compradas.
+     * @throws NotAvailableForSaleException si alguna de las entradas no está disponible para la venta.
+     */
+    public LinkedList<MovieTicket> buyTicketsAtCinema(Showing showing, LinkedList<String> seats)
             throws NotAvailableForSaleException {
-        return getCinemaTicketOffice().sellTicket(title, time, screeningRoom, seat, cinemaTicketOffice.getPrice());
+        return getCinemaTicketOffice().sellTickets(showing, seats, cinemaTicketOffice.getPrice());
     }
 
     /**
      * Devuelve una representación en forma de cadena de los asientos disponibles para una película,
      * hora y sala de proyección específicos.
      *
-     * @param title         El título de la película.
-     * @param time          La hora de la proyección.
-     * @param screeningRoom La sala de proyección.
+     * @param showing       La función (película, hora y sala de proyección).
      * @return Una cadena que contiene los detalles de los asientos.
      */
-    public String listSeats(String title, Time time, ScreeningRoom screeningRoom) {
-        return getCinemaTicketOffice().listSeats(title, time, screeningRoom);
+    public String listSeats(Showing showing) {
+        return getCinemaTicketOffice().listSeats(showing);
+    }
+
+    /**
+     * Busca los mejores asientos contiguos libres para una película, hora y sala de proyección específicos,
+     * priorizando los bloques que no quedan cortados por un pasillo y los más cercanos al centro de la sala.
+     *
+     * @param showing       La función (película, hora y sala de proyección).
+     * @param count         La cantidad de asientos buscados.
+     * @return Los números de los asientos encontrados, o una lista vacía si no hay asientos contiguos suficientes.
+     */
+    public LinkedList<String> findBestSeats(Showing showing, int count) {
+        return getCinemaTicketOffice().findBestSeats(showing, count, new AisleSeatScorer());
     }
 
     /**
@@ -191,26 +261,36 @@ public class Cinema implements Serializable {
     }
 
     /**
-     * Elimina una hora de proyección de una película en el índice especificado.
+     * Elimina una función de una película en el índice especificado.
      *
-     * @param index El índice de la película.
-     * @param time  La hora a eliminar.
-     * @throws NotFoundException     si la película o la hora no se encuentran.
+     * @param index   El índice de la película.
+     * @param showing La función a eliminar.
+     * @throws NotFoundException     si la película o la función no se encuentran.
      * @throws InvalidIndexException si el índice es inválido.
      */
-    public void removeTime(int index, Time time) throws NotFoundException, InvalidIndexException {
-        getShowtimes().removeTime(index, time, getCinemaTicketOffice());
+    public void removeTime(int index, Showing showing) throws NotFoundException, InvalidIndexException {
+        getShowtimes().removeTime(index, showing.getTime(), showing.getScreeningRoom(), getCinemaTicketOffice());
     }
 
     /**
-     * Elimina una sala de proyección de una película en el índice especificado.
+     * Elimina una sala de proyección de una película en el índice especificado, junto con sus funciones en esa sala.
      *
-     * @param index El índice de la sala de proyección.
-     * @throws NotFoundException     si la sala de proyección no se encuentra.
+     * @param index         El índice de la película.
+     * @param screeningRoom La sala de proyección a eliminar.
+     * @throws NotFoundException     si la sala de proyección no está asignada a la película.
      * @throws InvalidIndexException si el índice es inválido.
      */
-    public void removeScreeningRoom(int index) throws NotFoundException, InvalidIndexException {
-        getShowtimes().removeScreeningRoom(index, getCinemaTicketOffice());
+    public void removeScreeningRoom(int index, ScreeningRoom screeningRoom) throws NotFoundException, InvalidIndexException {
+        getShowtimes().removeScreeningRoom(index, screeningRoom, getCinemaTicketOffice());
+    }
+
+    /**
+     * Obtiene una representación en forma de cadena de la cartelera, con la cantidad de asientos libres de cada función.
+     *
+     * @return Una cadena que contiene la cartelera del cine.
+     */
+    public String showtimesToString() {
+        return getShowtimes().toString(getCinemaTicketOffice().getAvailabilitySummary());
     }
 
     /**
@@ -234,13 +314,13 @@ public class Cinema implements Serializable {
     }
 
     /**
-     * Canjea una entrada con el código especificado.
+     * Canjea las entradas reservadas con el código especificado.
      *
-     * @param code El código de la entrada a canjear.
-     * @return El objeto MovieTicket que representa la entrada canjeada.
+     * @param code El código de la reserva a canjear.
+     * @return Los objetos MovieTicket que representan las entradas canjeadas.
      * @throws NotFoundException si el código no se encuentra.
      */
-    public MovieTicket redeemTicket(String code) throws NotFoundException {
+    public LinkedList<MovieTicket> redeemTicket(String code) throws NotFoundException {
         return getCinemaTicketOffice().exchangeTicket(code);
     }
 
@@ -248,24 +328,57 @@ public class Cinema implements Serializable {
      * Regenera el inventario de entradas del cine.
      */
     public void regenerateTicketStock() {
-        try {
-            getCinemaTicketOffice().regenerateTicketStock(getShowtimes());
-        } catch (NotFoundException e) {
-            System.out.println(e.getMessage());
-        } catch (InvalidIndexException e) {
-            System.out.println(e.getMessage());
-        }
+        getCinemaTicketOffice().regenerateTicketStock();
     }
 
     /**
      * Verifica si el cine tiene stock disponible para una película, hora y sala de proyección específicos.
      *
-     * @param title         El título de la película.
-     * @param time          La hora de la proyección.
-     * @param screeningRoom La sala de proyección.
+     * @param showing       La función (película, hora y sala de proyección).
      * @return true si hay stock disponible, false en caso contrario.
      */
-    public boolean hasStock(String title, Time time, ScreeningRoom screeningRoom) {
-        return getCinemaTicketOffice().hasStock(title, time, screeningRoom);
+    public boolean hasStock(Showing showing) {
+        return getCinemaTicketOffice().hasStock(showing);
+    }
+
+    /**
+     * Obtiene las funciones que comienzan dentro de un rango de horarios y que todavía tienen asientos libres,
+     * ordenadas por horario y sala.
+     *
+     * @param from El horario desde el cual buscar, inclusive.
+     * @param to   El horario hasta el cual buscar, inclusive.
+     * @return Una lista con las funciones encontradas.
+     */
+    public LinkedList<Showing> getShowingsWithSeatsBetween(Time from, Time to) {
+        LinkedList<Showing> result = new LinkedList<>();
+        for (Showing showing : getShowtimes().getShowingsBetween(from, to)) {
+            if (hasStock(showing)) {
+                result.add(showing);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Busca las películas que cumplen todos los criterios indicados y que tienen alguna función
+     * con asientos libres dentro de un rango de horarios.
+     *
+     * @param criteria Los valores buscados en cada campo.
+     * @param from     El horario desde el cual buscar funciones, inclusive.
+     * @param to       El horario hasta el cual buscar funciones, inclusive.
+     * @return Los títulos de las películas encontradas.
+     */
+    public LinkedList<String> searchMoviesWithSeats(Map<MovieField, String> criteria, Time from, Time to) {
+        HashSet<String> titlesWithSeats = new HashSet<>();
+        for (Showing showing : getShowingsWithSeatsBetween(from, to)) {
+            titlesWithSeats.add(showing.getTitle());
+        }
+        LinkedList<String> result = new LinkedList<>();
+        for (String title : getShowtimes().searchMovies(criteria)) {
+            if (titlesWithSeats.contains(title)) {
+                result.add(title);
+            }
+        }
+        return result;
     }
 }
@@ -1,11 +1,13 @@
 package modeling;
 
 import exceptions.*;
+import interfaces.ISeatScorer;
 import interfaces.ITicketManagement;
 
 import java.io.Serializable;
 import java.util.HashMap;
-import java.util.TreeSet;
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Clase que representa una taquilla de cine.
@@ -19,18 +21,32 @@ import java.util.TreeSet;
 
 public class CinemaTicketOffice extends TicketOffice implements ITicketManagement<MovieTicket, Double>, Serializable {
 
-    private final HashMap<String, MovieTicket> reservedTickets; // Mapa de boletos reservados
-    private final HashMap<String, MovieTicket> ticketStock; // Mapa de boletos disponibles en el inventario
+    private static final long HOLD_TICK_MILLIS = 1000; // Duración de cada tick de la rueda de vencimientos
+    private static final int HOLD_WHEEL_SLOTS = 1024; // Cantidad de ranuras de la rueda de vencimientos
+    private static final long NO_SHOWING_KEY = -1; // Las claves de función nunca son negativas
+
+    private final HashMap<String, LinkedList<MovieTicket>> reservedTickets; // Mapa de boletos reservados por código
+    private final ConcurrentHashMap<String, Integer> titleIds; // Identificador numérico de cada película en las claves del inventario
+    private final LongMap<SeatMap> seatMaps; // Mapa de asientos de cada función en el inventario, por clave de función
+    private volatile int stockGeneration; // Generación actual del inventario; los mapas de generaciones anteriores están vacíos
+    private final HashMap<String, SeatHold> seatHolds; // Retenciones de asientos activas por código
+    private final TimingWheel<SeatHold> holdExpirations; // Vencimientos de las retenciones de asientos
+    private volatile long nextHoldCheck; // Instante a partir del cual vale la pena volver a avanzar la rueda
 
     /**
      * Constructor de la clase CinemaTicketOffice.
-     * Inicializa los mapas de boletos reservados y
-     * boletos disponibles en el inventario.
+     * Inicializa los mapas de boletos reservados,
+     * de identificadores de películas, de asientos de cada función en el inventario
+     * y de retenciones de asientos.
      */
     public CinemaTicketOffice() {
         super();
         reservedTickets = new HashMap<>();
-        ticketStock = new HashMap<>();
+        titleIds = new ConcurrentHashMap<>();
+        seatMaps = new LongMap<>();
+        stockGeneration = 0;
+        seatHolds = new HashMap<>();
+        holdExpirations = new TimingWheel<>(HOLD_TICK_MILLIS, HOLD_WHEEL_SLOTS, System.currentTimeMillis());
     }
 
     /**
@@ -38,7 +54,7 @@ public class CinemaTicketOffice extends TicketOffice implements ITicketManagemen
      *
      * @return El mapa de boletos reservados.
      */
-    private HashMap<String, MovieTicket> getReservedTickets() {
+    private HashMap<String, LinkedList<MovieTicket>> getReservedTickets() {
         return reservedTickets;
     }
 
@@ -46,25 +62,50 @@ public class CinemaTicketOffice extends TicketOffice implements ITicketManagemen
      * Vende un boleto de cine para una película, horario,
      * sala y asiento específicos, con un precio determinado.
      *
-     * @param title         El título de la película.
-     * @param time          El horario de la función.
-     * @param screeningRoom La sala de proyección.
+     * @param showing       La función (película, horario y sala de proyección).
      * @param seat          El número de asiento.
      * @param price         El precio del boleto.
      * @return El boleto vendido.
      * @throws NotAvailableForSaleException Si el asiento no está disponible para la venta.
      */
     @Override
-    public MovieTicket sellTicket(String title, Time time, ScreeningRoom screeningRoom, String seat, Double price) throws NotAvailableForSaleException {
-        if (isTicketAvailable(title, time, seat)) {
+    public MovieTicket sellTicket(Showing showing, String seat, Double price) throws NotAvailableForSaleException {
+        ScreeningRoom screeningRoom = showing.getScreeningRoom();
+        SeatClaim claim = claimSeat(showing, seat);
+        if (claim.isClaimed()) {
+            if (screeningRoom.hasVipSeats()) {
+                price = additionalCost();
+            }
+            return new MovieTicket(showing.getTitle(), showing.getTime(), screeningRoom, screeningRoom.normalizeSeat(seat), price);
+        } else {
+            throw new NotAvailableForSaleException(claim.getMessage());
+        }
+    }
+
+    /**
+     * Vende un grupo de boletos de cine para una misma función de manera atómica: se venden todos o ninguno.
+     * El precio se calcula una sola vez para todo el grupo.
+     *
+     * @param showing       La función (película, horario y sala de proyección).
+     * @param seats         Los números de asiento.
+     * @param price         El precio de cada boleto.
+     * @return Los boletos vendidos, en el mismo orden que los asientos.
+     * @throws NotAvailableForSaleException Si alguno de los asientos no está disponible para la venta.
+     */
+    public LinkedList<MovieTicket> sellTickets(Showing showing, LinkedList<String> seats, double price) throws NotAvailableForSaleException {
+        ScreeningRoom screeningRoom = showing.getScreeningRoom();
+        SeatClaim claim = claimSeats(showing, seats);
+        if (claim.isClaimed()) {
             if (screeningRoom.hasVipSeats()) {
                 price = additionalCost();
             }
-            MovieTicket ticket = removeTicketFromStock(title, time, seat);
-            ticket.setPrice(price);
-            return ticket;
+            LinkedList<MovieTicket> tickets = new LinkedList<>();
+            for (String seat : seats) {
+                tickets.add(new MovieTicket(showing.getTitle(), showing.getTime(), screeningRoom, screeningRoom.normalizeSeat(seat), price));
+            }
+            return tickets;
         } else {
-            throw new NotAvailableForSaleException("This seat is not available.");
+            throw new NotAvailableForSaleException(claim.getMessage());
         }
     }
 
@@ -76,112 +117,326 @@ public class CinemaTicketOffice extends TicketOffice implements ITicketManagemen
      * @throws AlreadyExistsException Si el código del boleto ya existe en el mapa de boletos reservados.
      */
     public void addReservedTicket(String code, MovieTicket ticket) throws AlreadyExistsException {
-        if (!getReservedTickets().containsKey(code)) {
-            getReservedTickets().put(code, ticket);
-        } else {
-            throw new AlreadyExistsException("This ticket code already exists: " + code);
+        LinkedList<MovieTicket> tickets = new LinkedList<>();
+        tickets.add(ticket);
+        addReservedTickets(code, tickets);
+    }
+
+    /**
+     * Agrega un grupo de boletos reservados bajo un mismo código.
+     *
+     * @param code    El código único de la reserva.
+     * @param tickets Los boletos reservados.
+     * @throws AlreadyExistsException Si el código ya existe en el mapa de boletos reservados.
+     */
+    public void addReservedTickets(String code, LinkedList<MovieTicket> tickets) throws AlreadyExistsException {
+        synchronized (getReservedTickets()) {
+            if (!getReservedTickets().containsKey(code)) {
+                getReservedTickets().put(code, tickets);
+            } else {
+                throw new AlreadyExistsException("This ticket code already exists: " + code);
+            }
         }
     }
 
     /**
-     * Intercambia un boleto reservado en el mapa de boletos reservados.
+     * Intercambia los boletos reservados bajo un código en el mapa de boletos reservados.
      *
-     * @param code El código del boleto a intercambiar.
-     * @return El boleto intercambiado.
-     * @throws NotFoundException Si el código del boleto no se encuentra en el mapa de boletos reservados.
+     * @param code El código de la reserva a intercambiar.
+     * @return Los boletos intercambiados.
+     * @throws NotFoundException Si el código no se encuentra en el mapa de boletos reservados.
      */
-    public MovieTicket exchangeTicket(String code) throws NotFoundException {
-        if (getReservedTickets().containsKey(code)) {
-            return getReservedTickets().remove(code);
-        } else {
-            throw new NotFoundException("This ticket code doesn't exist: " + code);
+    public LinkedList<MovieTicket> exchangeTicket(String code) throws NotFoundException {
+        synchronized (getReservedTickets()) {
+            if (getReservedTickets().containsKey(code)) {
+                return getReservedTickets().remove(code);
+            } else {
+                throw new NotFoundException("This ticket code doesn't exist: " + code);
+            }
         }
     }
 
     /**
-     * Agrega un boleto al inventario de boletos disponibles.
+     * Obtiene la clave de una función en el inventario.
      *
-     * @param ticket El boleto a agregar.
+     * @param showing       La función (película, horario y sala de proyección).
+     * @return La clave de la función, o NO_SHOWING_KEY si la película nunca tuvo inventario.
      */
-    public void addTicketToStock(MovieTicket ticket) {
-        String key = generateTicketKey(ticket.getTitle(), ticket.getTime(), ticket.getSeat());
-        ticketStock.put(key, ticket);
+    private long getShowingKey(Showing showing) {
+        Integer titleId = titleIds.get(showing.getTitle());
+        if (titleId == null) {
+            return NO_SHOWING_KEY;
+        }
+        return generateShowingKey(titleId, showing.getScreeningRoom(), showing.getTime());
     }
 
     /**
-     * Verifica si un boleto está disponible para la venta en el inventario.
+     * Obtiene el mapa de asientos de una función.
      *
-     * @param title El título de la película.
-     * @param time  El horario de la función.
-     * @param seat  El número de asiento.
-     * @return true si el boleto está disponible, false en caso contrario.
+     * @param showing       La función (película, horario y sala de proyección).
+     * @return El mapa de asientos de la función, o null si la función no tiene inventario.
+     */
+    private SeatMap getSeatMap(Showing showing) {
+        long showingKey = getShowingKey(showing);
+        return showingKey == NO_SHOWING_KEY ? null : getSeatMap(showingKey, showing);
+    }
+
+    /**
+     * Obtiene el mapa de asientos de una función por su clave, sin tomar ningún bloqueo ni crear objetos.
+     * Si el mapa pertenece a una generación anterior del inventario, se reemplaza por uno con todos los asientos libres
+     * mediante compare-and-set: si varios hilos lo reemplazan a la vez, todos terminan usando el mismo mapa nuevo.
+     * Solo ese reemplazo, una vez por función y generación, toma el bloqueo del inventario.
+     *
+     * @param showingKey    La clave de la función en el inventario.
+     * @param showing       La función (película, horario y sala de proyección).
+     * @return El mapa de asientos de la función, o null si la función no tiene inventario.
      */
-    public boolean isTicketAvailable(String title, Time time, String seat) {
-        String key = generateTicketKey(title, time, seat);
-        return ticketStock.containsKey(key);
+    private SeatMap getSeatMap(long showingKey, Showing showing) {
+        int generation = stockGeneration;
+        SeatMap seatMap = seatMaps.get(showingKey);
+        while (seatMap != null && seatMap.getGeneration() != generation) {
+            SeatMap fresh = new SeatMap(showing, generation);
+            if (seatMaps.replace(showingKey, seatMap, fresh)) {
+                return fresh;
+            }
+            seatMap = seatMaps.get(showingKey);
+        }
+        return seatMap;
     }
 
     /**
-     * Elimina un boleto del inventario de boletos disponibles.
+     * Obtiene el identificador numérico de una película, asignándole uno nuevo si todavía no tiene.
+     * Solo se asignan identificadores al actualizar el inventario, de modo que el bloqueo no afecta a las ventas.
      *
      * @param title El título de la película.
-     * @param time  El horario de la función.
-     * @param seat  El número de asiento.
-     * @return El boleto eliminado del inventario.
+     * @return El identificador de la película.
      */
-    public MovieTicket removeTicketFromStock(String title, Time time, String seat) {
-        String key = generateTicketKey(title, time, seat);
-        return ticketStock.remove(key);
+    private int getOrCreateTitleId(String title) {
+        synchronized (titleIds) {
+            Integer titleId = titleIds.get(title);
+            if (titleId == null) {
+                titleId = titleIds.size();
+                titleIds.put(title, titleId);
+            }
+            return titleId;
+        }
     }
 
     /**
-     * Actualiza el inventario de boletos disponibles para una película en una sala de proyección y horario específicos.
+     * Intenta reclamar un asiento de una función. Si varios vendedores reclaman el mismo asiento
+     * al mismo tiempo, exactamente uno lo obtiene y el resto recibe un resultado de falla.
      *
-     * @param title         El título de la película.
-     * @param time          El horario de la función.
-     * @param screeningRoom La sala de proyección.
+     * @param showing       La función (película, horario y sala de proyección).
+     * @param seat          El número de asiento.
+     * @return El resultado del reclamo.
      */
-    public void updateTicketStock(String title, Time time, ScreeningRoom screeningRoom) {
-        char seatRow = 'A';  // Letra inicial para la fila de asientos
-        int maxSeatsPerRow = screeningRoom.getMaxSeatsPerRow();
+    public SeatClaim claimSeat(Showing showing, String seat) {
+        ScreeningRoom screeningRoom = showing.getScreeningRoom();
+        expireHolds();
+        SeatMap seatMap = getSeatMap(showing);
+        if (seatMap == null) {
+            return SeatClaim.SHOWING_NOT_FOUND;
+        }
+        int seatIndex = screeningRoom.getSeatIndex(seat);
+        if (seatIndex < 0) {
+            return SeatClaim.INVALID_SEAT;
+        }
+        return seatMap.occupy(seatIndex) ? SeatClaim.CLAIMED : SeatClaim.TAKEN;
+    }
 
-        for (int i = 1; i <= screeningRoom.getCapacity(); i++) {
-            int seatNumber = i % maxSeatsPerRow;  // Número de asiento (1-10)
+    /**
+     * Intenta reclamar un grupo de asientos de una misma función de manera atómica:
+     * se reclaman todos o ninguno.
+     *
+     * @param showing       La función (película, horario y sala de proyección).
+     * @param seats         Los números de asiento.
+     * @return El resultado del reclamo.
+     */
+    public SeatClaim claimSeats(Showing showing, LinkedList<String> seats) {
+        ScreeningRoom screeningRoom = showing.getScreeningRoom();
+        expireHolds();
+        SeatMap seatMap = getSeatMap(showing);
+        if (seatMap == null) {
+            return SeatClaim.SHOWING_NOT_FOUND;
+        }
+        int[] seatIndexes = toSeatIndexes(screeningRoom, seats);
+        if (seatIndexes == null) {
+            return SeatClaim.INVALID_SEAT;
+        }
+        return seatMap.occupyAll(seatIndexes) ? SeatClaim.CLAIMED : SeatClaim.TAKEN;
+    }
 
-            // Si hemos alcanzado el asiento número 10, incrementamos la letra de la fila
-            if (seatNumber == 0) {
-                seatNumber = maxSeatsPerRow;
+    /**
+     * Convierte una lista de números de asiento en sus índices dentro de la sala.
+     *
+     * @param screeningRoom La sala de proyección.
+     * @param seats         Los números de asiento.
+     * @return Los índices de los asientos, o null si la lista está vacía o algún asiento no existe.
+     */
+    private int[] toSeatIndexes(ScreeningRoom screeningRoom, LinkedList<String> seats) {
+        if (seats.isEmpty()) {
+            return null;
+        }
+        int[] seatIndexes = new int[seats.size()];
+        int i = 0;
+        for (String seat : seats) {
+            seatIndexes[i] = screeningRoom.getSeatIndex(seat);
+            if (seatIndexes[i] < 0) {
+                return null;
             }
+            i++;
+        }
+        return seatIndexes;
+    }
 
-            String seat = seatRow + String.valueOf(seatNumber);
-            if (!isTicketAvailable(title, time, seat)) {
-                MovieTicket ticket = new MovieTicket(title, time, screeningRoom, seat, 0);
-                addTicketToStock(ticket);
+    /**
+     * Retiene un grupo de asientos de una función durante un tiempo limitado, por ejemplo mientras se completa un pago.
+     * Los asientos quedan ocupados hasta que la retención se confirma, se libera o vence.
+     *
+     * @param showing        La función (película, horario y sala de proyección).
+     * @param seats          Los números de asiento.
+     * @param durationMillis La duración de la retención en milisegundos.
+     * @return El código de la retención.
+     * @throws NotAvailableForSaleException Si alguno de los asientos no está disponible.
+     */
+    public String holdSeats(Showing showing, LinkedList<String> seats, long durationMillis) throws NotAvailableForSaleException {
+        ScreeningRoom screeningRoom = showing.getScreeningRoom();
+        expireHolds();
+        SeatMap seatMap = getSeatMap(showing);
+        if (seatMap == null) {
+            throw new NotAvailableForSaleException(SeatClaim.SHOWING_NOT_FOUND.getMessage());
+        }
+        int[] seatIndexes = toSeatIndexes(screeningRoom, seats);
+        if (seatIndexes == null) {
+            throw new NotAvailableForSaleException(SeatClaim.INVALID_SEAT.getMessage());
+        }
+        if (!seatMap.occupyAll(seatIndexes)) {
+            throw new NotAvailableForSaleException(SeatClaim.TAKEN.getMessage());
+        }
+        synchronized (seatHolds) {
+            String code = RandomCodeGenerator.generateRandomCode();
+            while (seatHolds.containsKey(code)) {
+                code = RandomCodeGenerator.generateRandomCode();
             }
-            if (seatNumber == maxSeatsPerRow) {
-                seatRow++;
+            long expiresAt = System.currentTimeMillis() + durationMillis;
+            SeatHold hold = new SeatHold(code, seatMap, seatIndexes, expiresAt);
+            seatHolds.put(code, hold);
+            holdExpirations.schedule(hold, expiresAt);
+            return code;
+        }
+    }
+
+    /**
+     * Confirma una retención de asientos. Los asientos quedan vendidos y la retención deja de estar activa.
+     *
+     * @param code El código de la retención.
+     * @return La retención confirmada.
+     * @throws NotFoundException Si la retención no existe, ya fue confirmada o liberada, o venció.
+     */
+    public SeatHold confirmHold(String code) throws NotFoundException {
+        expireHolds();
+        synchronized (seatHolds) {
+            SeatHold hold = seatHolds.remove(code);
+            if (hold == null) {
+                throw new NotFoundException("This hold has expired or doesn't exist: " + code);
             }
+            hold.close();
+            return hold;
         }
     }
 
     /**
-     * Regenera el inventario de boletos disponibles para todas las películas y salas de proyección en todos los horarios.
+     * Libera una retención de asientos antes de su vencimiento, por ejemplo si el cliente abandona el pago.
      *
-     * @param showtimes Los horarios de las películas y las salas de proyección.
-     * @throws NotFoundException     Si no se encuentra una película en los horarios dados.
-     * @throws InvalidIndexException Si se produce un índice inválido al acceder a las películas en los horarios dados.
+     * @param code El código de la retención.
+     * @throws NotFoundException Si la retención no existe, ya fue confirmada o liberada, o venció.
+     */
+    public void releaseHold(String code) throws NotFoundException {
+        SeatHold hold;
+        synchronized (seatHolds) {
+            hold = seatHolds.remove(code);
+            if (hold == null) {
+                throw new NotFoundException("This hold has expired or doesn't exist: " + code);
+            }
+            hold.close();
+        }
+        hold.releaseSeats();
+    }
+
+    /**
+     * Libera los asientos de las retenciones vencidas.
+     * Solo se recorren las ranuras de la rueda de vencimientos correspondientes al tiempo transcurrido,
+     * y si todavía no pasó un tick desde la última vez no se toma ningún bloqueo.
      */
-    public void regenerateTicketStock(Showtimes showtimes) throws NotFoundException, InvalidIndexException {
-        for (int i = 1; i <= showtimes.getTitlesSize(); i++) {
-            String title = showtimes.getTitleByIndex(i);
-            if (showtimes.hasScreeningRoomByTitle(title)) {
-                ScreeningRoom screeningRoom = showtimes.getScreeningRoomByTitle(title);
-                TreeSet<Time> startTimes = showtimes.getStartTimesByTitle(title);
-                for (Time time : startTimes) {
-                    updateTicketStock(title, time, screeningRoom);
+    public void expireHolds() {
+        long now = System.currentTimeMillis();
+        if (now < nextHoldCheck) {
+            return;
+        }
+        LinkedList<SeatHold> expired = new LinkedList<>();
+        synchronized (seatHolds) {
+            nextHoldCheck = now + HOLD_TICK_MILLIS;
+            for (SeatHold hold : holdExpirations.advance(now)) {
+                if (hold.isActive()) {
+                    seatHolds.remove(hold.getCode());
+                    hold.close();
+                    expired.add(hold);
                 }
             }
         }
+        for (SeatHold hold : expired) {
+            hold.releaseSeats();
+        }
+    }
+
+    /**
+     * Busca el mejor bloque de asientos contiguos libres de una función, según el criterio especificado.
+     * Antes se liberan las retenciones vencidas, para no descartar sus asientos.
+     * Los asientos no quedan reclamados: deben venderse a continuación.
+     *
+     * @param showing       La función (película, horario y sala de proyección).
+     * @param count         La cantidad de asientos buscados.
+     * @param scorer        El criterio con el que se puntúan los bloques de asientos.
+     * @return Los números de asiento del mejor bloque, o una lista vacía si no hay ningún bloque libre.
+     */
+    public LinkedList<String> findBestSeats(Showing showing, int count, ISeatScorer scorer) {
+        ScreeningRoom screeningRoom = showing.getScreeningRoom();
+        expireHolds();
+        LinkedList<String> seats = new LinkedList<>();
+        SeatMap seatMap = getSeatMap(showing);
+        if (seatMap != null) {
+            for (int seatIndex : SeatAllocator.findBestSeats(seatMap, count, scorer)) {
+                seats.add(screeningRoom.getSeatLabel(seatIndex));
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Actualiza el inventario de boletos disponibles para una película en una sala de proyección y horario específicos.
+     * Todos los asientos de la función quedan disponibles; el estado de los asientos recién se crea con la primera venta.
+     *
+     * @param showing       La función (película, horario y sala de proyección).
+     */
+    public void updateTicketStock(Showing showing) {
+        long showingKey = generateShowingKey(getOrCreateTitleId(showing.getTitle()), showing.getScreeningRoom(), showing.getTime());
+        seatMaps.put(showingKey, new SeatMap(showing, stockGeneration));
+    }
+
+    /**
+     * Regenera el inventario de boletos disponibles para todas las películas y salas de proyección en todos los horarios.
+     * En lugar de recorrer todas las funciones, se pasa a una nueva generación del inventario: el mapa de asientos de cada
+     * función se reemplaza por uno con todos los asientos libres la próxima vez que se consulta.
+     */
+    public void regenerateTicketStock() {
+        synchronized (seatHolds) {
+            // Las retenciones activas pierden sus asientos al regenerar el inventario
+            for (SeatHold hold : seatHolds.values()) {
+                hold.close();
+            }
+            seatHolds.clear();
+            stockGeneration++;
+        }
     }
 
 
@@ -189,41 +444,30 @@ public class CinemaTicketOffice extends TicketOffice implements ITicketManagemen
      * Genera una representación de los asientos disponibles y no disponibles para una película, vistos como un plano del cine,
      * en una sala de proyección y horario específicos.
      *
-     * @param title         El título de la película.
-     * @param time          El horario de la función.
-     * @param screeningRoom La sala de proyección.
+     * @param showing       La función (película, horario y sala de proyección).
      * @return Una cadena de caracteres que representa los asientos disponibles y no disponibles.
      */
-    public String listSeats(String title, Time time, ScreeningRoom screeningRoom) {
+    public String listSeats(Showing showing) {
+        ScreeningRoom screeningRoom = showing.getScreeningRoom();
+        expireHolds();
         StringBuilder builder = new StringBuilder();
-        char seatRow = 'A';  // Letra inicial para la fila de asientos
+        SeatMap seatMap = getSeatMap(showing);
         int maxSeatsPerRow = screeningRoom.getMaxSeatsPerRow();
-        int sideRows = 2;
-        if (maxSeatsPerRow <= 6) {
-            sideRows = 1;
-        }
-        int middleRow = maxSeatsPerRow - sideRows * 2;
 
-        for (int i = 1; i <= screeningRoom.getCapacity(); i++) {
-            int seatNumber = i % maxSeatsPerRow;  // Número de asiento
+        for (int i = 0; i < screeningRoom.getCapacity(); i++) {
+            int seatNumber = i % maxSeatsPerRow + 1;  // Número de asiento dentro de la fila
 
-            if (seatNumber == 0) {
-                seatNumber = maxSeatsPerRow;
-            }
-
-            String seat = seatRow + String.valueOf(seatNumber);
-            if (!isTicketAvailable(title, time, seat)) {
+            if (seatMap == null || !seatMap.isAvailable(i)) {
                 builder.append("\u001B[31m"); // Color rojo para los asientos no disponibles
             } else {
                 builder.append("\u001B[32m"); // Color verde para los asientos disponibles
             }
-            builder.append(seat).append("\u001B[0m").append(" "); // Restablecer el color
-            if ((seatNumber == sideRows) || (seatNumber == (middleRow + sideRows))) {
+            builder.append(screeningRoom.getSeatLabel(i)).append("\u001B[0m").append(" "); // Restablecer el color
+            if (screeningRoom.isAisleAfter(seatNumber - 1)) {
                 builder.append("  ");
             }
 
             if (seatNumber == maxSeatsPerRow) {
-                seatRow++;
                 builder.append("\n");
             }
         }
@@ -233,61 +477,56 @@ public class CinemaTicketOffice extends TicketOffice implements ITicketManagemen
     /**
      * Verifica si hay boletos disponibles para la venta para una película en una sala de proyección y horario específicos.
      *
-     * @param title         El título de la película.
-     * @param time          El horario de la función.
-     * @param screeningRoom La sala de proyección.
+     * @param showing       La función (película, horario y sala de proyección).
      * @return true si hay boletos disponibles, false en caso contrario.
      */
-    public boolean hasStock(String title, Time time, ScreeningRoom screeningRoom) {
-        char seatRow = 'A';  // Letra inicial para la fila de asientos
-        int maxSeatsPerRow = screeningRoom.getMaxSeatsPerRow();
-        int i = 1;
-        boolean ans = false;
-        while ((i <= screeningRoom.getCapacity()) && !ans) {
-            int seatNumber = i % maxSeatsPerRow;  // Número de asiento
+    public boolean hasStock(Showing showing) {
+        return getAvailableSeats(showing) > 0;
+    }
 
-            if (seatNumber == 0) {
-                seatNumber = maxSeatsPerRow;
-            }
-            String seat = seatRow + String.valueOf(seatNumber);
-            if (isTicketAvailable(title, time, seat)) {
-                ans = true;
-            }
-            if (seatNumber == maxSeatsPerRow) {
-                seatRow++;
-            }
-            i++;
+    /**
+     * Obtiene la cantidad de asientos libres para una película en una sala de proyección y horario específicos.
+     *
+     * @param showing       La función (película, horario y sala de proyección).
+     * @return La cantidad de asientos libres, o 0 si la función no tiene inventario.
+     */
+    public int getAvailableSeats(Showing showing) {
+        expireHolds();
+        SeatMap seatMap = getSeatMap(showing);
+        if (seatMap == null) {
+            return 0;
         }
-        return ans;
+        return seatMap.getAvailableSeats();
     }
 
     /**
-     * Elimina los boletos del inventario de boletos disponibles para una película en una sala de proyección y horario específicos.
+     * Obtiene la cantidad de asientos libres de todas las funciones del inventario, recorriéndolo una sola vez.
      *
-     * @param title         El título de la película.
-     * @param time          El horario de la función.
-     * @param screeningRoom La sala de proyección.
+     * @return Un mapa con la cantidad de asientos libres de cada función.
      */
-    public void removeTicketStock(String title, Time time, ScreeningRoom screeningRoom) {
-        char seatRow = 'A';  // Letra inicial para la fila de asientos
-        int maxSeatsPerRow = screeningRoom.getMaxSeatsPerRow();
-
-        for (int i = 1; i <= screeningRoom.getCapacity(); i++) {
-            int seatNumber = i % maxSeatsPerRow;  // Número de asiento (1-10)
-
-            // Si hemos alcanzado el asiento número 10, incrementamos la letra de la fila
-            if (seatNumber == 0) {
-                seatNumber = maxSeatsPerRow;
-            }
-
-            String seat = seatRow + String.valueOf(seatNumber);
-            if (isTicketAvailable(title, time, seat)) {
-                removeTicketFromStock(title, time, seat);
+    public HashMap<Showing, Integer> getAvailabilitySummary() {
+        expireHolds();
+        HashMap<Showing, Integer> summary = new HashMap<>();
+        int generation = stockGeneration;
+        for (SeatMap seatMap : seatMaps.values()) {
+            int availableSeats = seatMap.getAvailableSeats();
+            if (seatMap.getGeneration() != generation) {
+                availableSeats = seatMap.getScreeningRoom().getCapacity();
             }
+            summary.put(seatMap.getShowing(), availableSeats);
+        }
+        return summary;
+    }
 
-            if (seatNumber == maxSeatsPerRow) {
-                seatRow++;
-            }
+    /**
+     * Elimina los boletos del inventario de boletos disponibles para una película en una sala de proyección y horario específicos.
+     *
+     * @param showing       La función (película, horario y sala de proyección).
+     */
+    public void removeTicketStock(Showing showing) {
+        long showingKey = getShowingKey(showing);
+        if (showingKey != NO_SHOWING_KEY) {
+            seatMaps.remove(showingKey);
         }
     }
 }
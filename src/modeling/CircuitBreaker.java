@@ -0,0 +1,97 @@
+package modeling;
+
+/**
+ * Disyuntor para un servicio externo: después de varias fallas seguidas deja de consultarlo por un tiempo,
+ * para que las operaciones fallen enseguida en lugar de esperar a que se agoten los tiempos máximos.
+ * Pasado ese tiempo permite una sola consulta de prueba: si funciona, el servicio vuelve a usarse normalmente;
+ * si falla, se espera otro período completo.
+ */
+public class CircuitBreaker {
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state;
+    private int consecutiveFailures;
+    private long openedAt; // Momento en que se dejó de consultar el servicio, en milisegundos
+    private boolean trialInProgress; // Si ya hay una consulta de prueba en curso
+
+    /**
+     * Estado del disyuntor.
+     */
+    private enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Crea un disyuntor cerrado.
+     *
+     * @param failureThreshold la cantidad de fallas seguidas que lo abren
+     * @param openMillis       el tiempo que permanece abierto, en milisegundos
+     * @throws IllegalArgumentException si algún valor no es positivo
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        if (failureThreshold <= 0 || openMillis <= 0) {
+            throw new IllegalArgumentException("Failure threshold and open time must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.state = State.CLOSED;
+    }
+
+    /**
+     * Verifica si se puede consultar el servicio. Cuando el disyuntor está abierto y ya pasó el tiempo de espera,
+     * autoriza una única consulta de prueba.
+     *
+     * @return true si se puede consultar el servicio, false si hay que fallar sin consultarlo
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            trialInProgress = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInProgress) {
+                return false;
+            }
+            trialInProgress = true;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Registra que el servicio respondió. Cierra el disyuntor.
+     */
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInProgress = false;
+    }
+
+    /**
+     * Registra una falla del servicio. Abre el disyuntor si falló la consulta de prueba
+     * o si se alcanzó la cantidad de fallas seguidas.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            trialInProgress = false;
+        }
+    }
+
+    /**
+     * Obtiene el tiempo que falta para que se permita una consulta de prueba.
+     *
+     * @return el tiempo restante en milisegundos, o 0 si el disyuntor no está abierto
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openMillis - (System.currentTimeMillis() - openedAt));
+    }
+}
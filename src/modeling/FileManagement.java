@@ -11,11 +11,16 @@ import java.io.*;
 public class FileManagement {
     private static final String FILE_PATH = "cinema_data.txt";
 
+    private static boolean keepStoredFile = false; // true si el archivo guardado no se pudo leer ni apartar
+
     /**
      * Lee el archivo y devuelve un objeto Cinema.
      * Si el archivo no existe, crea un objeto Cinema vacío y lo guarda en el archivo.
+     * Si el archivo no se puede leer, por ejemplo porque fue guardado con una versión incompatible de las clases,
+     * se aparta con la extensión .bak para no perder esos datos y se parte de un Cinema vacío. Si ni siquiera
+     * se puede apartar, el archivo no se vuelve a escribir.
      *
-     * @return el objeto Cinema leído o el objeto Cinema vacío si el archivo no existe
+     * @return el objeto Cinema leído o el objeto Cinema vacío si el archivo no existe o no se puede leer
      */
     public static Cinema readFile() {
         File file = new File(FILE_PATH);
@@ -30,19 +35,48 @@ public class FileManagement {
              ObjectInputStream objectInputStream = new ObjectInputStream(fileInputStream)) {
             // Si el archivo existe, lo leemos y devolvemos el objeto Cinema almacenado
             return (Cinema) objectInputStream.readObject();
+        } catch (InvalidClassException e) {
+            // El archivo fue guardado con una versión anterior de las clases
+            System.out.println("Stored cinema data is outdated.");
         } catch (IOException | ClassNotFoundException e) {
             e.printStackTrace();
         }
 
-        return null;
+        File backup = backupFile();
+        if (file.renameTo(backup)) {
+            System.out.println("The stored cinema data was kept in " + backup.getName() + ", starting with an empty cinema.");
+        } else {
+            keepStoredFile = true;
+            System.out.println("The stored cinema data could not be kept aside, it will not be overwritten.");
+        }
+        return new Cinema();
+    }
+
+    /**
+     * Obtiene un nombre libre para apartar el archivo: cinema_data.txt.bak, o cinema_data.txt.1.bak,
+     * cinema_data.txt.2.bak, etc. si ya hay copias anteriores.
+     *
+     * @return el archivo donde apartar los datos guardados
+     */
+    private static File backupFile() {
+        File backup = new File(FILE_PATH + ".bak");
+        for (int i = 1; backup.exists(); i++) {
+            backup = new File(FILE_PATH + "." + i + ".bak");
+        }
+        return backup;
     }
 
     /**
      * Escribe el objeto Cinema en el archivo.
+     * No escribe nada si el archivo guardado no se pudo leer ni apartar, para no reemplazar esos datos.
      *
      * @param cinema el objeto Cinema a escribir
      */
     public static void writeFile(Cinema cinema) {
+        if (keepStoredFile) {
+            System.out.println("Cinema data was not saved to avoid overwriting " + FILE_PATH + ".");
+            return;
+        }
         try (FileOutputStream fileOutputStream = new FileOutputStream(FILE_PATH);
              ObjectOutputStream objectOutputStream = new ObjectOutputStream(fileOutputStream)) {
             // Guardamos el objeto Cinema en el archivo
@@ -52,4 +86,3 @@ public class FileManagement {
         }
     }
 }
-
@@ -0,0 +1,245 @@
+package modeling;
+
+import java.io.Serializable;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedList;
+
+/**
+ * Índice de texto completo sobre el título y el argumento de las películas, tolerante a errores de tipeo.
+ * Cada texto se divide en trigramas: grupos de tres caracteres consecutivos de cada palabra, con un espacio
+ * al comienzo y al final ("roma" da " ro", "rom", "oma" y "ma "). Cada trigrama tiene una lista ordenada
+ * con las películas que lo contienen en el título y otra con las que lo contienen en el argumento.
+ * Una búsqueda cuenta cuántos trigramas de la consulta tiene cada película, recorriendo solo las listas de
+ * esos trigramas; una palabra mal escrita sigue compartiendo la mayoría de sus trigramas con la correcta.
+ * Para acotar la memoria, de cada película se guardan a lo sumo MAX_TITLE_TRIGRAMS y MAX_PLOT_TRIGRAMS
+ * trigramas distintos.
+ */
+public class FullTextIndex implements Serializable {
+    private static final int ALPHABET = 37; // Separador, letras de la a a la z y dígitos
+    private static final int TRIGRAMS = ALPHABET * ALPHABET * ALPHABET;
+    private static final int MAX_TITLE_TRIGRAMS = 64;
+    private static final int MAX_PLOT_TRIGRAMS = 256;
+    private static final int MAX_QUERY_TRIGRAMS = 64;
+    private static final double MIN_SIMILARITY = 0.5; // Parte mínima de los trigramas de la consulta que debe tener una película
+    private static final String MISSING_VALUE = "N/A";
+    private static final ThreadLocal<BitSet> SEEN = ThreadLocal.withInitial(() -> new BitSet(TRIGRAMS)); // Trigramas ya vistos en el texto actual
+
+    private final HashMap<String, Integer> movieIds; // Número asignado a cada título
+    private final ArrayList<String> titlesById; // Título de cada número; null si la película se eliminó
+    private final Postings[] titlePostings; // Películas que tienen cada trigrama en el título
+    private final Postings[] plotPostings; // Películas que tienen cada trigrama en el argumento
+
+    /**
+     * Crea un índice vacío.
+     */
+    public FullTextIndex() {
+        movieIds = new HashMap<>();
+        titlesById = new ArrayList<>();
+        titlePostings = new Postings[TRIGRAMS];
+        plotPostings = new Postings[TRIGRAMS];
+    }
+
+    /**
+     * Agrega una película al índice.
+     *
+     * @param movie la película
+     */
+    public void add(Movie movie) {
+        if (movieIds.containsKey(movie.getTitle())) {
+            return;
+        }
+        int id = titlesById.size();
+        movieIds.put(movie.getTitle(), id);
+        titlesById.add(movie.getTitle());
+        for (int trigram : trigrams(movie.getTitle(), MAX_TITLE_TRIGRAMS)) {
+            if (titlePostings[trigram] == null) {
+                titlePostings[trigram] = new Postings();
+            }
+            titlePostings[trigram].add(id);
+        }
+        for (int trigram : trigrams(plotOf(movie), MAX_PLOT_TRIGRAMS)) {
+            if (plotPostings[trigram] == null) {
+                plotPostings[trigram] = new Postings();
+            }
+            plotPostings[trigram].add(id);
+        }
+    }
+
+    /**
+     * Quita una película del índice. Solo se modifican las listas de los trigramas de la película.
+     *
+     * @param movie la película
+     */
+    public void remove(Movie movie) {
+        Integer id = movieIds.remove(movie.getTitle());
+        if (id == null) {
+            return;
+        }
+        titlesById.set(id, null);
+        removeAll(titlePostings, trigrams(movie.getTitle(), MAX_TITLE_TRIGRAMS), id);
+        removeAll(plotPostings, trigrams(plotOf(movie), MAX_PLOT_TRIGRAMS), id);
+    }
+
+    /**
+     * Busca las películas cuyo título o argumento se parecen al texto buscado.
+     * Los resultados se ordenan por la cantidad de trigramas de la consulta que contienen; a igual cantidad,
+     * primero las que los tienen en el título, y luego en el orden en que se agregaron al índice.
+     *
+     * @param query el texto buscado
+     * @param limit la cantidad máxima de resultados
+     * @return los títulos de las películas encontradas
+     */
+    public LinkedList<String> search(String query, int limit) {
+        LinkedList<String> result = new LinkedList<>();
+        int[] queryTrigrams = trigrams(query, MAX_QUERY_TRIGRAMS);
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return result;
+        }
+
+        int[] matches = new int[titlesById.size()]; // Trigramas de la consulta que tiene cada película
+        int[] titleMatches = new int[titlesById.size()]; // Trigramas de la consulta que tiene cada título
+        ArrayList<Integer> candidates = new ArrayList<>();
+        for (int trigram : queryTrigrams) {
+            Postings inTitle = titlePostings[trigram];
+            Postings inPlot = plotPostings[trigram];
+            if (inTitle != null) {
+                for (int i = 0; i < inTitle.size(); i++) {
+                    int id = inTitle.get(i);
+                    if (matches[id]++ == 0) {
+                        candidates.add(id);
+                    }
+                    titleMatches[id]++;
+                }
+            }
+            if (inPlot != null) {
+                for (int i = 0; i < inPlot.size(); i++) {
+                    int id = inPlot.get(i);
+                    if (inTitle == null || !inTitle.contains(id)) {
+                        if (matches[id]++ == 0) {
+                            candidates.add(id);
+                        }
+                    }
+                }
+            }
+        }
+
+        int required = (int) Math.ceil(queryTrigrams.length * MIN_SIMILARITY);
+        candidates.removeIf(id -> matches[id] < required);
+        candidates.sort((first, second) -> {
+            int comparison = Integer.compare(matches[second], matches[first]);
+            if (comparison == 0) {
+                comparison = Integer.compare(titleMatches[second], titleMatches[first]);
+            }
+            return comparison != 0 ? comparison : Integer.compare(first, second);
+        });
+        for (int i = 0; i < candidates.size() && i < limit; i++) {
+            result.add(titlesById.get(candidates.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Quita una película de las listas de varios trigramas, descartando las listas que quedan vacías.
+     *
+     * @param postings las listas de un campo
+     * @param trigrams los trigramas de la película en ese campo
+     * @param id       el número de la película
+     */
+    private static void removeAll(Postings[] postings, int[] trigrams, int id) {
+        for (int trigram : trigrams) {
+            Postings list = postings[trigram];
+            if (list != null) {
+                list.remove(id);
+                if (list.size() == 0) {
+                    postings[trigram] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene el argumento de una película, o un texto vacío si no se conoce.
+     *
+     * @param movie la película
+     * @return el argumento
+     */
+    private static String plotOf(Movie movie) {
+        String plot = movie.getPlot();
+        return plot == null || plot.equals(MISSING_VALUE) ? "" : plot;
+    }
+
+    /**
+     * Obtiene los trigramas distintos de un texto, en el orden en que aparecen.
+     * Se ignoran mayúsculas y acentos, y cualquier carácter que no sea letra o dígito separa palabras.
+     * Los acentos se separan de su letra con la normalización NFD, que solo se aplica si el texto no es ASCII.
+     *
+     * @param text  el texto
+     * @param limit la cantidad máxima de trigramas
+     * @return los códigos de los trigramas
+     */
+    private static int[] trigrams(String text, int limit) {
+        String normalized = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+        int[] found = new int[limit];
+        int count = 0;
+        BitSet seen = SEEN.get();
+        int first = 0; // Los dos símbolos anteriores; 0 representa el separador
+        int second = 0;
+        for (int i = 0; i <= normalized.length() && count < limit; i++) {
+            int symbol = i < normalized.length() ? symbolOf(normalized.charAt(i)) : 0;
+            if (symbol < 0) {
+                continue; // Marca de acento
+            }
+            if (symbol != 0 || second != 0) {
+                int trigram = (first * ALPHABET + second) * ALPHABET + symbol;
+                if (second != 0 && !seen.get(trigram)) {
+                    seen.set(trigram);
+                    found[count++] = trigram;
+                }
+            }
+            first = second;
+            second = symbol;
+        }
+        for (int i = 0; i < count; i++) {
+            seen.clear(found[i]); // Se deja el conjunto vacío para el próximo texto
+        }
+        return count == limit ? found : Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Verifica si un texto solo tiene caracteres ASCII, en cuyo caso no hace falta quitarle los acentos.
+     *
+     * @param text el texto
+     * @return true si todos los caracteres son ASCII, false en caso contrario
+     */
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Convierte un carácter en su símbolo del alfabeto de los trigramas.
+     *
+     * @param c el carácter, sin combinar con su acento
+     * @return el símbolo, 0 si el carácter separa palabras, o -1 si es una marca de acento que se ignora
+     */
+    private static int symbolOf(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return Character.getType(c) == Character.NON_SPACING_MARK ? -1 : 0;
+    }
+}
@@ -1,10 +1,33 @@
 package modeling;
 
 import exceptions.EmptyTitleException;
+import exceptions.HttpStatusException;
+import exceptions.MovieSearchFailedException;
 import exceptions.NotFoundException;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
 /**
  * Clase que proporciona métodos para buscar películas en la API de IMDb.
  * @author Matias, Lucas
@@ -12,6 +35,87 @@ import org.json.JSONObject;
  * @since 06/2023
  */
 public class IMDb {
+    public static final String DEFAULT_BASE_URL = "http://www.omdbapi.com/";
+    public static final int DEFAULT_CONNECT_TIMEOUT = 5000; // En milisegundos
+    public static final int DEFAULT_READ_TIMEOUT = 10000; // En milisegundos
+    private static final String API_KEY = "8738b1fe";
+    private static final int MAX_CONCURRENT_REQUESTS = 8; // Consultas asincrónicas en curso al mismo tiempo
+    private static final long BASE_BACKOFF_MILLIS = 200; // Espera antes del primer reintento
+    private static final long MAX_BACKOFF_MILLIS = 2000; // Espera máxima entre reintentos
+    private static final MovieCache CACHE = new MovieCache(); // Respuestas de OMDb ya obtenidas
+    private static final CircuitBreaker BREAKER = new CircuitBreaker(5, 30_000); // Deja de consultar OMDb tras 5 fallas seguidas
+
+    private static String baseUrl = DEFAULT_BASE_URL;
+    private static Duration connectTimeout = Duration.ofMillis(DEFAULT_CONNECT_TIMEOUT);
+    private static Duration readTimeout = Duration.ofMillis(DEFAULT_READ_TIMEOUT);
+    private static Duration lookupBudget = Duration.ofSeconds(15); // Tiempo máximo de una búsqueda, con sus reintentos
+    private static int maxAttempts = 3;
+    private static HttpClient httpClient; // Se crea con la primera consulta asincrónica
+    private static int activeRequests; // Consultas asincrónicas en curso
+    private static final ArrayDeque<Runnable> pendingRequests = new ArrayDeque<>(); // Consultas esperando turno
+    private static final ConcurrentHashMap<String, CompletableFuture<Movie>> inFlight = new ConcurrentHashMap<>(); // Búsquedas en curso por título normalizado
+    private static final AtomicLong coalescedLookups = new AtomicLong(); // Búsquedas que esperaron a otra en curso
+
+    /**
+     * Establece la dirección de la API, por ejemplo para usar un servidor local de pruebas.
+     *
+     * @param url la dirección base de la API, a la que se agregan los parámetros de la consulta
+     */
+    public static void setBaseUrl(String url) {
+        baseUrl = url;
+    }
+
+    /**
+     * Establece los tiempos máximos de las consultas a la API.
+     * Ninguna búsqueda dura más que el tiempo total, sin importar cuántas veces se reintente.
+     *
+     * @param connect el tiempo máximo para conectarse
+     * @param read    el tiempo máximo de espera de la respuesta
+     * @param total   el tiempo máximo de una búsqueda, sumando todos sus intentos
+     * @throws IllegalArgumentException si algún tiempo no es positivo
+     */
+    public static synchronized void setTimeouts(Duration connect, Duration read, Duration total) {
+        if (connect.isNegative() || connect.isZero() || read.isNegative() || read.isZero()
+                || total.isNegative() || total.isZero()) {
+            throw new IllegalArgumentException("Timeouts must be positive");
+        }
+        connectTimeout = connect;
+        readTimeout = read;
+        lookupBudget = total;
+        httpClient = null; // El cliente se vuelve a crear con el nuevo tiempo de conexión
+    }
+
+    /**
+     * Establece la cantidad máxima de intentos de cada consulta a la API.
+     *
+     * @param attempts la cantidad de intentos, incluido el primero
+     * @throws IllegalArgumentException si la cantidad no es positiva
+     */
+    public static void setMaxAttempts(int attempts) {
+        if (attempts <= 0) {
+            throw new IllegalArgumentException("Attempts must be positive");
+        }
+        maxAttempts = attempts;
+    }
+
+    /**
+     * Obtiene las estadísticas de la caché de respuestas de OMDb.
+     *
+     * @return los aciertos, fallos y tiempos promedio de la caché, y las búsquedas que compartieron una consulta
+     */
+    public static String getCacheStats() {
+        return CACHE.getStats() + System.lineSeparator() + "Lookups sharing an in-flight request: " + coalescedLookups.get();
+    }
+
+    /**
+     * Guarda en la caché respuestas de OMDb obtenidas sin consultar la API, por ejemplo de un archivo local.
+     *
+     * @param responses el JSON de cada respuesta, en una sola línea, por título
+     */
+    static void cacheResponses(Map<String, String> responses) {
+        CACHE.putAll(responses);
+    }
+
     /**
      * Genera la URL requerida por la API de IMDb a partir del título de la película.
      * Si se le pasa un título vacío, arroja una excepción EmptyTitleException.
@@ -24,68 +128,467 @@ public class IMDb {
         if (title.isEmpty()) {
             throw new EmptyTitleException("Error: Title cannot be empty.");
         }
-        String[] titleArray = title.split(" ");
-        StringBuilder url = new StringBuilder("http://www.omdbapi.com/?t=");
-        for (int i = 0; i < titleArray.length; i++) {
-            url.append(titleArray[i]);
-            if (i < (titleArray.length - 1)) {
-                url.append("+");
+        return baseUrl + "?t=" + URLEncoder.encode(title, StandardCharsets.UTF_8) + "&apikey=" + API_KEY;
+    }
+
+    /**
+     * Crea un objeto Movie con los datos de la respuesta de la API.
+     *
+     * @param jsonObject el JSON de la película
+     * @return la película
+     * @throws JSONException si falta algún dato en el JSON
+     */
+    static Movie toMovie(JSONObject jsonObject) throws JSONException {
+        Movie movie = new Movie();
+        movie.setTitle(jsonObject.getString("Title"));
+        movie.setYear(jsonObject.getString("Year"));
+        movie.setRated(jsonObject.getString("Rated"));
+        movie.setReleased(jsonObject.getString("Released"));
+        movie.setRuntime(jsonObject.getString("Runtime"));
+        movie.setGenre(jsonObject.getString("Genre"));
+        movie.setDirector(jsonObject.getString("Director"));
+        movie.setWriter(jsonObject.getString("Writer"));
+        movie.setActors(jsonObject.getString("Actors"));
+        movie.setPlot(jsonObject.getString("Plot"));
+        movie.setLanguage(jsonObject.getString("Language"));
+        return movie;
+    }
+
+    /**
+     * Convierte la respuesta de la API en una película y la guarda en la caché.
+     * La API responde "Response": "False" tanto cuando la película no existe como cuando rechaza la consulta,
+     * por ejemplo por una clave inválida o por exceder el límite de consultas.
+     *
+     * @param title      el título buscado
+     * @param jsonObject el JSON de la respuesta
+     * @return la película
+     * @throws NotFoundException          si no se encuentra la película
+     * @throws MovieSearchFailedException si la API rechazó la consulta
+     * @throws JSONException              si la respuesta no tiene el formato esperado
+     */
+    private static Movie readResponse(String title, JSONObject jsonObject) throws NotFoundException, MovieSearchFailedException, JSONException {
+        if (!jsonObject.getBoolean("Response")) {
+            String error = jsonObject.optString("Error", "");
+            if (error.isEmpty() || error.toLowerCase().contains("not found")) {
+                throw new NotFoundException("Error: Movie not found - " + title);
             }
+            throw new MovieSearchFailedException("Error: The movie database rejected the request: " + error);
         }
-        url.append("&apikey=8738b1fe");
-        return url.toString();
+        Movie movie = toMovie(jsonObject);
+        cacheResponse(title, jsonObject, movie);
+        return movie;
     }
 
     /**
-     * Obtiene el JSON correspondiente a la película utilizando la URL generada por generateTitleURL.
+     * Busca una película en la API de IMDb utilizando el título y devuelve un objeto Movie con la información de la película.
+     * Primero se busca la respuesta en la caché; si no está, se consulta la API y se guarda la respuesta
+     * con el título buscado y con el título oficial de la película.
+     * Si ya hay una búsqueda en curso del mismo título, se espera su resultado en lugar de repetir la consulta.
+     * La búsqueda es la de searchMovieAsync, y se espera como mucho el tiempo total de una búsqueda: si se agota,
+     * por ejemplo porque el servidor envía la respuesta muy de a poco, se usan los datos guardados de la película.
      * Si no se encuentra la película, arroja una excepción NotFoundException.
      *
      * @param title el título de la película
-     * @return el JSON correspondiente a la película
-     * @throws NotFoundException   si no se encuentra la película
-     * @throws EmptyTitleException si el título está vacío
-     * @throws JSONException       si ocurre un error al procesar el JSON
+     * @return un objeto Movie con la información de la película
+     * @throws NotFoundException          si no se encuentra la película
+     * @throws EmptyTitleException        si el título está vacío
+     * @throws MovieSearchFailedException si no se pudo consultar la API y no hay datos guardados de la película
      */
-    private static String fetchJsonFromUrl(String title) throws NotFoundException, EmptyTitleException, JSONException {
-        String url = generateTitleURL(title);
-        String json = API.getInfo(url);
-        JSONObject jsonObject = new JSONObject(json);
-        boolean response = jsonObject.getBoolean("Response");
-        if (!response) {
-            throw new NotFoundException("Error: Movie not found - " + title);
+    public static Movie searchMovie(String title) throws NotFoundException, EmptyTitleException, MovieSearchFailedException {
+        long budget = lookupBudget.toMillis();
+        try {
+            return searchMovieAsync(title).get(budget, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException exception) {
+            throw rethrow(exception.getCause());
+        } catch (TimeoutException exception) {
+            return fallback(title, failureMessage(exception));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return fallback(title, "Error: The movie search was interrupted.");
         }
-        return json;
     }
 
     /**
-     * Busca una película en la API de IMDb utilizando el título y devuelve un objeto Movie con la información de la película.
-     * Si no se encuentra la película, arroja una excepción NotFoundException.
+     * Busca una película en la API de forma asincrónica, con HttpClient.
+     * Si la respuesta está en la caché, se devuelve sin consultar la API. Si ya hay una búsqueda en curso del
+     * mismo título, se comparte su resultado en lugar de repetir la consulta. Como mucho MAX_CONCURRENT_REQUESTS
+     * consultas están en curso al mismo tiempo; las demás esperan su turno sin ocupar un hilo.
+     * Las fallas pasajeras se reintentan con esperas crecientes y aleatorias, sin superar el tiempo total
+     * de la búsqueda. Si OMDb no está disponible, se usan los datos guardados de la película aunque hayan vencido.
+     * El resultado falla con NotFoundException si la película no existe, con EmptyTitleException si el título
+     * está vacío, o con MovieSearchFailedException si no se pudo consultar la API y no hay datos guardados.
      *
      * @param title el título de la película
-     * @return un objeto Movie con la información de la película
-     * @throws NotFoundException   si no se encuentra la película
-     * @throws EmptyTitleException si el título está vacío
+     * @return el resultado de la búsqueda
      */
-    public static Movie searchMovie(String title) throws NotFoundException, EmptyTitleException {
-        Movie movie = new Movie();
+    public static CompletableFuture<Movie> searchMovieAsync(String title) {
+        String key = MovieCache.normalize(title);
+        CompletableFuture<Movie> flight = new CompletableFuture<>();
+        CompletableFuture<Movie> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            // Se espera a la búsqueda en curso con el mismo tiempo total, por si esa búsqueda no termina nunca
+            coalescedLookups.incrementAndGet();
+            return withDeadline(title, existing.copy(), lookupBudget.toMillis());
+        }
+        lookupAsync(title).whenComplete((movie, error) -> land(key, flight, movie, unwrap(error)));
+        return flight.copy();
+    }
+
+    /**
+     * Busca una película en la caché o, si no está, en la API de forma asincrónica.
+     *
+     * @param title el título de la película
+     * @return el resultado de la búsqueda
+     */
+    private static CompletableFuture<Movie> lookupAsync(String title) {
+        Movie cached = fromCache(title);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        String url;
+        try {
+            url = generateTitleURL(title);
+        } catch (EmptyTitleException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+        long budget = lookupBudget.toMillis();
+        return withDeadline(title, attemptAsync(title, url, 1, System.currentTimeMillis() + budget), budget);
+    }
+
+    /**
+     * Limita el tiempo de espera de una búsqueda: si no termina a tiempo, se usan los datos guardados de la película.
+     *
+     * @param title  el título de la película
+     * @param search la búsqueda
+     * @param budget el tiempo máximo de espera, en milisegundos
+     * @return el resultado de la búsqueda, o el de los datos guardados si se agotó el tiempo
+     */
+    private static CompletableFuture<Movie> withDeadline(String title, CompletableFuture<Movie> search, long budget) {
+        return search.orTimeout(budget, TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof TimeoutException) {
+                        return fallbackAsync(title, failureMessage(cause));
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    /**
+     * Hace un intento asincrónico de consultar la API y, si falla de forma pasajera, programa el siguiente
+     * después de una espera, sin ocupar un hilo mientras tanto.
+     * La consulta se arma antes de pedir permiso al disyuntor, y cualquier falla que no sea una respuesta de la API
+     * se registra en el disyuntor, para que una consulta de prueba nunca quede sin resolver.
+     *
+     * @param title    el título de la película
+     * @param url      la URL de la película
+     * @param attempt  el número de intento, comenzando en 1
+     * @param deadline el momento límite de la búsqueda, en milisegundos
+     * @return el resultado de la búsqueda
+     */
+    private static CompletableFuture<Movie> attemptAsync(String title, String url, int attempt, long deadline) {
+        long remaining = Math.max(1, deadline - System.currentTimeMillis());
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofMillis(Math.min(readTimeout.toMillis(), remaining)))
+                    .GET()
+                    .build();
+        } catch (IllegalArgumentException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+        if (!BREAKER.allowRequest()) {
+            return fallbackAsync(title, unavailableMessage());
+        }
+        CompletableFuture<Movie> response = withRequestPermit(() -> {
+            long start = System.nanoTime();
+            return getHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenApply(httpResponse -> {
+                        CACHE.recordFetch(System.nanoTime() - start);
+                        return parseResponse(title, httpResponse);
+                    });
+        });
+        return response.handle((movie, error) -> {
+            Throwable cause = unwrap(error);
+            if (cause == null) {
+                return CompletableFuture.completedFuture(movie);
+            }
+            if (cause instanceof NotFoundException || cause instanceof MovieSearchFailedException) {
+                return CompletableFuture.<Movie>failedFuture(cause); // La API respondió: no se reintenta
+            }
+            BREAKER.recordFailure();
+            if (!(cause instanceof IOException) && !(cause instanceof JSONException)) {
+                return CompletableFuture.<Movie>failedFuture(cause); // Falla inesperada: no se reintenta
+            }
+            long backoff = backoffMillis(attempt);
+            if (!isRetryable(cause) || attempt >= maxAttempts || System.currentTimeMillis() + backoff >= deadline) {
+                return fallbackAsync(title, failureMessage(cause));
+            }
+            return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> attemptAsync(title, url, attempt + 1, deadline));
+        }).thenCompose(result -> result);
+    }
+
+    /**
+     * Convierte la respuesta de una consulta asincrónica en una película y la guarda en la caché.
+     *
+     * @param title    el título buscado
+     * @param response la respuesta de la API
+     * @return la película
+     * @throws CompletionException con la causa del error si la respuesta no es una película
+     */
+    private static Movie parseResponse(String title, HttpResponse<String> response) {
+        try {
+            if (response.statusCode() != 200) {
+                throw new HttpStatusException(response.statusCode());
+            }
+            JSONObject jsonObject = new JSONObject(response.body());
+            BREAKER.recordSuccess();
+            return readResponse(title, jsonObject);
+        } catch (IOException | NotFoundException | MovieSearchFailedException | JSONException exception) {
+            throw new CompletionException(exception);
+        }
+    }
+
+    /**
+     * Obtiene una película de la caché, si su respuesta está guardada y vigente.
+     *
+     * @param title el título de la película
+     * @return la película, o null si no está en la caché
+     */
+    private static Movie fromCache(String title) {
+        String json = CACHE.get(title);
+        if (json != null) {
+            try {
+                return toMovie(new JSONObject(json));
+            } catch (JSONException exception) {
+                // La respuesta guardada está dañada: se vuelve a consultar la API
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Usa los datos guardados de una película, aunque hayan vencido, cuando no se pudo consultar la API.
+     *
+     * @param title   el título de la película
+     * @param message el motivo por el que no se pudo consultar la API
+     * @return la película guardada
+     * @throws MovieSearchFailedException con el motivo, si no hay datos guardados de la película
+     */
+    private static Movie fallback(String title, String message) throws MovieSearchFailedException {
+        String json = CACHE.getStale(title);
+        if (json != null) {
+            try {
+                Movie movie = toMovie(new JSONObject(json));
+                System.out.println(message + " Using saved data for " + movie.getTitle() + ".");
+                return movie;
+            } catch (JSONException exception) {
+                // La respuesta guardada está dañada: se informa el error original
+            }
+        }
+        throw new MovieSearchFailedException(message);
+    }
+
+    /**
+     * Versión asincrónica de fallback.
+     *
+     * @param title   el título de la película
+     * @param message el motivo por el que no se pudo consultar la API
+     * @return la película guardada, o un resultado fallido con el motivo si no hay datos guardados
+     */
+    private static CompletableFuture<Movie> fallbackAsync(String title, String message) {
         try {
-            String json = fetchJsonFromUrl(title);
-            JSONObject jsonObject = new JSONObject(json);
-            movie.setTitle(jsonObject.getString("Title"));
-            movie.setYear(jsonObject.getString("Year"));
-            movie.setRated(jsonObject.getString("Rated"));
-            movie.setReleased(jsonObject.getString("Released"));
-            movie.setRuntime(jsonObject.getString("Runtime"));
-            movie.setGenre(jsonObject.getString("Genre"));
-            movie.setDirector(jsonObject.getString("Director"));
-            movie.setWriter(jsonObject.getString("Writer"));
-            movie.setActors(jsonObject.getString("Actors"));
-            movie.setPlot(jsonObject.getString("Plot"));
-            movie.setLanguage(jsonObject.getString("Language"));
-            return movie;
-        } catch (JSONException exception) {
-            System.out.println("No internet connection, please try again later.");
-            return null;
+            return CompletableFuture.completedFuture(fallback(title, message));
+        } catch (MovieSearchFailedException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    /**
+     * Verifica si una falla de la consulta puede ser pasajera.
+     *
+     * @param failure la falla
+     * @return true si vale la pena reintentar, false en caso contrario
+     */
+    private static boolean isRetryable(Throwable failure) {
+        if (failure instanceof HttpStatusException statusException) {
+            return statusException.isRetryable();
+        }
+        return failure instanceof IOException;
+    }
+
+    /**
+     * Calcula la espera antes de un reintento: crece al doble con cada intento, hasta un máximo,
+     * y se elige al azar entre la mitad y el total para que los reintentos no coincidan.
+     *
+     * @param attempt el número del intento que falló, comenzando en 1
+     * @return la espera en milisegundos
+     */
+    private static long backoffMillis(int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempt - 1, 20));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    /**
+     * Obtiene el mensaje que explica por qué falló la consulta a la API.
+     *
+     * @param failure la falla
+     * @return el mensaje para el usuario
+     */
+    private static String failureMessage(Throwable failure) {
+        if (failure instanceof HttpStatusException) {
+            return "Error: The movie database answered with " + failure.getMessage() + ".";
+        } else if (failure instanceof HttpTimeoutException
+                || failure instanceof TimeoutException) {
+            return "Error: The movie database did not answer in time.";
+        } else if (failure instanceof IOException) {
+            return "Error: Could not connect to the movie database, please check your internet connection.";
+        }
+        return "Error: The movie database sent an invalid response.";
+    }
+
+    /**
+     * Obtiene el mensaje que se muestra mientras no se consulta la API por fallas anteriores.
+     *
+     * @return el mensaje para el usuario
+     */
+    private static String unavailableMessage() {
+        long seconds = (BREAKER.getRemainingOpenMillis() + 999) / 1000;
+        return "Error: The movie database is unavailable, please try again in " + seconds + " seconds.";
+    }
+
+    /**
+     * Obtiene la causa de un error de un resultado asincrónico.
+     *
+     * @param error el error, posiblemente envuelto en una CompletionException
+     * @return la causa del error, o null si no hubo error
+     */
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Vuelve a lanzar el error de una búsqueda compartida.
+     *
+     * @param cause el error de la búsqueda
+     * @return nunca retorna; el tipo permite escribir "throw rethrow(cause)"
+     * @throws NotFoundException          si la búsqueda no encontró la película
+     * @throws EmptyTitleException        si el título estaba vacío
+     * @throws MovieSearchFailedException si la búsqueda falló por otro motivo
+     */
+    private static MovieSearchFailedException rethrow(Throwable cause) throws NotFoundException, EmptyTitleException, MovieSearchFailedException {
+        if (cause instanceof NotFoundException notFound) {
+            throw notFound;
+        } else if (cause instanceof EmptyTitleException emptyTitle) {
+            throw emptyTitle;
+        } else if (cause instanceof MovieSearchFailedException searchFailed) {
+            throw searchFailed;
+        } else if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new MovieSearchFailedException("Error: " + cause.getMessage());
+    }
+
+    /**
+     * Termina una búsqueda en curso y entrega su resultado a todas las búsquedas que la esperaban.
+     * La búsqueda se quita de las búsquedas en curso antes de entregar el resultado; como la respuesta
+     * ya está en la caché, una nueva búsqueda del mismo título la encuentra ahí.
+     *
+     * @param key    el título normalizado
+     * @param flight la búsqueda en curso
+     * @param movie  la película encontrada, o null si hubo un error
+     * @param error  el error de la búsqueda, o null si terminó bien
+     */
+    private static void land(String key, CompletableFuture<Movie> flight, Movie movie, Throwable error) {
+        inFlight.remove(key, flight);
+        if (error != null) {
+            flight.completeExceptionally(error);
+        } else {
+            flight.complete(movie);
+        }
+    }
+
+    /**
+     * Guarda una respuesta en la caché con el título buscado y con el título oficial de la película.
+     *
+     * @param title      el título buscado
+     * @param jsonObject el JSON de la respuesta
+     * @param movie      la película de la respuesta
+     */
+    private static void cacheResponse(String title, JSONObject jsonObject, Movie movie) {
+        String json = jsonObject.toString();
+        CACHE.put(title, json);
+        if (!MovieCache.normalize(title).equals(MovieCache.normalize(movie.getTitle()))) {
+            CACHE.put(movie.getTitle(), json);
+        }
+    }
+
+    /**
+     * Obtiene el cliente HTTP compartido por las consultas asincrónicas.
+     *
+     * @return el cliente HTTP
+     */
+    private static synchronized HttpClient getHttpClient() {
+        if (httpClient == null) {
+            httpClient = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+        }
+        return httpClient;
+    }
+
+    /**
+     * Ejecuta una consulta asincrónica cuando hay lugar entre las consultas en curso.
+     *
+     * @param request la consulta a ejecutar
+     * @param <T>     el tipo del resultado
+     * @return el resultado de la consulta
+     */
+    private static <T> CompletableFuture<T> withRequestPermit(Supplier<CompletableFuture<T>> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletableFuture<T> future;
+            try {
+                future = request.get();
+            } catch (RuntimeException exception) {
+                future = CompletableFuture.failedFuture(exception);
+            }
+            future.whenComplete((value, error) -> {
+                releaseRequestPermit();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+        boolean startNow;
+        synchronized (pendingRequests) {
+            startNow = activeRequests < MAX_CONCURRENT_REQUESTS;
+            if (startNow) {
+                activeRequests++;
+            } else {
+                pendingRequests.add(start);
+            }
+        }
+        if (startNow) {
+            start.run();
+        }
+        return result;
+    }
+
+    /**
+     * Libera el lugar de una consulta terminada, y lo pasa a la primera consulta en espera si la hay.
+     */
+    private static void releaseRequestPermit() {
+        Runnable next;
+        synchronized (pendingRequests) {
+            next = pendingRequests.poll();
+            if (next == null) {
+                activeRequests--;
+            }
+        }
+        if (next != null) {
+            next.run();
         }
     }
 }
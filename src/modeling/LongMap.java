@@ -0,0 +1,255 @@
+package modeling;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mapa de direccionamiento abierto con claves primitivas de tipo long, seguro para varios hilos.
+ * A diferencia de un ConcurrentHashMap&lt;Long, V&gt;, buscar una clave no crea objetos, por lo que se puede usar
+ * en los caminos de venta y consulta de entradas sin generar basura.
+ * Las lecturas no toman ningún bloqueo; las escrituras, que solo ocurren al cambiar el inventario, se hacen
+ * bajo el bloqueo del mapa. Una posición, una vez asignada a una clave, no cambia de clave: al eliminar
+ * se deja una marca, y las marcas desaparecen recién cuando la tabla se reconstruye y se publica entera.
+ * No admite valores null.
+ *
+ * @param <V> el tipo de los valores
+ */
+public class LongMap<V> implements Serializable {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Object REMOVED = new Object(); // Marca de una clave eliminada
+
+    private transient volatile Table table;
+    private transient volatile int size;
+
+    /**
+     * Tabla de claves y valores. Las claves se escriben antes de publicar el valor de su posición,
+     * así que quien lee un valor distinto de null ve también su clave.
+     */
+    private static class Table {
+        private final long[] keys;
+        private final AtomicReferenceArray<Object> values; // Un valor null indica una posición libre
+        private int used; // Posiciones con clave, incluidas las eliminadas
+
+        private Table(int capacity) {
+            keys = new long[capacity];
+            values = new AtomicReferenceArray<>(capacity);
+            used = 0;
+        }
+
+        /**
+         * Busca la posición de una clave, o la posición libre donde debería insertarse.
+         *
+         * @param key la clave a buscar
+         * @return la posición de la clave o de la primera posición libre de su secuencia de sondeo
+         */
+        private int indexOf(long key) {
+            int mask = keys.length - 1;
+            int index = hash(key) & mask;
+            while (values.get(index) != null && keys[index] != key) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Crea un mapa vacío.
+     */
+    public LongMap() {
+        table = new Table(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Obtiene la cantidad de entradas del mapa.
+     *
+     * @return la cantidad de entradas
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave, sin tomar ningún bloqueo.
+     *
+     * @param key la clave a buscar
+     * @return el valor asociado, o null si la clave no existe
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        Table current = table;
+        int mask = current.keys.length - 1;
+        int index = hash(key) & mask;
+        // Cada posición se lee una sola vez: una posición libre puede ocuparse con otra clave mientras se busca
+        Object value = current.values.get(index);
+        while (value != null && current.keys[index] != key) {
+            index = (index + 1) & mask;
+            value = current.values.get(index);
+        }
+        return value == REMOVED ? null : (V) value;
+    }
+
+    /**
+     * Asocia un valor a una clave, reemplazando el valor anterior si existía.
+     *
+     * @param key   la clave
+     * @param value el valor, no puede ser null
+     * @return el valor anterior, o null si la clave no existía
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("LongMap no admite valores null.");
+        }
+        Table current = table;
+        int index = current.indexOf(key);
+        Object previous = current.values.get(index);
+        if (previous == null) {
+            current.keys[index] = key;
+            current.used++;
+        }
+        current.values.set(index, value);
+        if (previous == null || previous == REMOVED) {
+            size++;
+            if (current.used * 4 > current.keys.length * 3) {
+                rebuild();
+            }
+            return null;
+        }
+        return (V) previous;
+    }
+
+    /**
+     * Reemplaza el valor de una clave solo si todavía es el esperado.
+     *
+     * @param key      la clave
+     * @param expected el valor esperado
+     * @param value    el nuevo valor, no puede ser null
+     * @return true si se reemplazó el valor, false si la clave tenía otro valor o no existía
+     */
+    public synchronized boolean replace(long key, V expected, V value) {
+        if (value == null) {
+            throw new NullPointerException("LongMap no admite valores null.");
+        }
+        Table current = table;
+        int index = current.indexOf(key);
+        if (expected == null || current.values.get(index) != expected) {
+            return false;
+        }
+        current.values.set(index, value);
+        return true;
+    }
+
+    /**
+     * Elimina una clave del mapa.
+     *
+     * @param key la clave a eliminar
+     * @return el valor que tenía asociado, o null si la clave no existía
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V remove(long key) {
+        Table current = table;
+        int index = current.indexOf(key);
+        Object previous = current.values.get(index);
+        if (previous == null || previous == REMOVED) {
+            return null;
+        }
+        current.values.set(index, REMOVED);
+        size--;
+        return (V) previous;
+    }
+
+    /**
+     * Obtiene una lista con los valores del mapa, sin un orden en particular.
+     *
+     * @return una lista con los valores
+     */
+    @SuppressWarnings("unchecked")
+    public LinkedList<V> values() {
+        Table current = table;
+        LinkedList<V> list = new LinkedList<>();
+        for (int i = 0; i < current.keys.length; i++) {
+            Object value = current.values.get(i);
+            if (value != null && value != REMOVED) {
+                list.add((V) value);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Mezcla los bits de la clave para repartirla de manera uniforme en la tabla.
+     *
+     * @param key la clave
+     * @return el hash de la clave
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Reconstruye la tabla sin las claves eliminadas, duplicando su capacidad si hace falta, y la publica
+     * una vez completa. Se llama con el bloqueo del mapa tomado.
+     */
+    private void rebuild() {
+        Table current = table;
+        int capacity = current.keys.length;
+        while (size * 2 > capacity) {
+            capacity *= 2;
+        }
+        Table rebuilt = new Table(capacity);
+        for (int i = 0; i < current.keys.length; i++) {
+            Object value = current.values.get(i);
+            if (value != null && value != REMOVED) {
+                int index = rebuilt.indexOf(current.keys[i]);
+                rebuilt.keys[index] = current.keys[i];
+                rebuilt.values.set(index, value);
+                rebuilt.used++;
+            }
+        }
+        table = rebuilt;
+    }
+
+    /**
+     * Guarda las entradas del mapa, sin las claves eliminadas.
+     *
+     * @param output el flujo de salida
+     * @throws IOException si no se pudo escribir
+     */
+    private synchronized void writeObject(ObjectOutputStream output) throws IOException {
+        output.defaultWriteObject();
+        Table current = table;
+        output.writeInt(size);
+        for (int i = 0; i < current.keys.length; i++) {
+            Object value = current.values.get(i);
+            if (value != null && value != REMOVED) {
+                output.writeLong(current.keys[i]);
+                output.writeObject(value);
+            }
+        }
+    }
+
+    /**
+     * Lee las entradas guardadas por writeObject.
+     *
+     * @param input el flujo de entrada
+     * @throws IOException            si no se pudo leer
+     * @throws ClassNotFoundException si falta la clase de algún valor
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        int entries = input.readInt();
+        table = new Table(INITIAL_CAPACITY);
+        size = 0;
+        for (int i = 0; i < entries; i++) {
+            long key = input.readLong();
+            put(key, (V) input.readObject());
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package modeling;
 import exceptions.*;
+import java.io.IOException;
+import java.util.EnumMap;
 import java.util.InputMismatchException;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
 import java.util.Scanner;
 import static modeling.FileManagement.readFile;
 
@@ -12,6 +17,7 @@ import static modeling.FileManagement.readFile;
  * @version 1.0.3
  */
 public class Menu {
+    private static final int MAX_SUGGESTIONS = 10; // Cantidad máxima de sugerencias y de resultados de búsqueda
     private final Cinema cinema;
     private final Scanner scanner;
     private final String adminPassword;
@@ -52,6 +58,10 @@ public class Menu {
             System.out.println("║ 6. Remove Screening Room    ║");
             System.out.println("║ 7. Set Ticket Price         ║");
             System.out.println("║ 8. Regenerate Ticket Stock  ║");
+            System.out.println("║ 9. Set Cleaning Gap         ║");
+            System.out.println("║ 10. Movie Cache Stats       ║");
+            System.out.println("║ 11. Import Movies           ║");
+            System.out.println("║ 12. Load Catalog File       ║");
             System.out.println("║ 0. Exit                     ║");
             System.out.println("╚═════════════════════════════╝");
             System.out.print("Enter your choice: ");
@@ -68,6 +78,10 @@ public class Menu {
                     case 6 -> removeScreeningRoom();
                     case 7 -> setPrices();
                     case 8 -> regenerateTicketStock();
+                    case 9 -> setCleaningGap();
+                    case 10 -> System.out.println(IMDb.getCacheStats());
+                    case 11 -> importMovies();
+                    case 12 -> loadCatalog();
                     case 0 -> exit = true;
                     default -> System.out.println("Invalid choice. Please try again.");
                 }
@@ -97,6 +111,9 @@ public class Menu {
             System.out.println("║ 4. Buy Ticket At Cinema  ║");
             System.out.println("║ 5. Buy Ticket Online     ║");
             System.out.println("║ 6. Redeem Ticket         ║");
+            System.out.println("║ 7. What's On             ║");
+            System.out.println("║ 8. Search Movies         ║");
+            System.out.println("║ 9. Search By Plot        ║");
             System.out.println("║ 0. Exit                  ║");
             System.out.println("╚══════════════════════════╝");
             System.out.print("Enter your choice: ");
@@ -111,6 +128,9 @@ public class Menu {
                     case 4 -> buyTicketAtCinema();
                     case 5 -> buyTicketOnline();
                     case 6 -> redeemTicket();
+                    case 7 -> showShowingsBetween();
+                    case 8 -> searchMovies();
+                    case 9 -> searchByPlot();
                     case 0 -> exit = true;
                     default -> System.out.println("Invalid choice. Please try again.");
                 }
@@ -198,6 +218,41 @@ public class Menu {
         }
     }
 
+    /**
+     * Agrega varias películas al cine, buscándolas en paralelo.
+     */
+    private void importMovies() {
+        System.out.println("Enter one movie title per line, and an empty line to finish:");
+        LinkedList<String> titles = new LinkedList<>();
+        String title = scanner.nextLine().trim();
+        while (!title.isEmpty()) {
+            titles.add(title);
+            title = scanner.nextLine().trim();
+        }
+        if (titles.isEmpty()) {
+            System.out.println("No titles entered.");
+            return;
+        }
+
+        LinkedHashMap<String, String> report = cinema.getShowtimes().addMovies(titles);
+        for (Map.Entry<String, String> result : report.entrySet()) {
+            System.out.println("   • " + result.getKey() + ": " + result.getValue());
+        }
+    }
+
+    /**
+     * Agrega las películas de un archivo local con una respuesta de OMDb por línea.
+     */
+    private void loadCatalog() {
+        System.out.print("Enter catalog file path: ");
+        String path = scanner.nextLine().trim();
+        try {
+            System.out.println(cinema.getShowtimes().loadCatalog(path));
+        } catch (IOException e) {
+            System.out.println("Error: Could not read " + path + " - " + e.getMessage());
+        }
+    }
+
     /**
      * Agrega un horario de proyección para una película.
      */
@@ -210,6 +265,10 @@ public class Menu {
                 scanner.nextLine(); // Consume newline character
 
                 if (cinema.getShowtimes().hasScreeningRoomByIndex(index)) {
+                    ScreeningRoom screen = selectAssignedScreen(cinema.getShowtimes().getTitleByIndex(index));
+                    if (screen == null) {
+                        return;
+                    }
                     System.out.print("Enter showtime (hh:mm): ");
                     String showtimeStr = scanner.nextLine();
 
@@ -224,12 +283,15 @@ public class Menu {
                             System.out.println("Error: Minutes cannot be " + minute);
                         } else {
                             try {
-                                cinema.addTime(index, hour, minute);
+                                cinema.addTime(index, screen, hour, minute);
                                 System.out.println("Showtime added successfully.");
                             } catch (NotFoundException e) {
                                 System.out.println(e.getMessage());
                             } catch (AlreadyExistsException e) {
                                 System.out.println("Error: " + e.getMessage());
+                            } catch (ScheduleConflictException e) {
+                                System.out.println(e.getMessage());
+                                printNextFreeStart(index, screen, Time.of(hour, minute));
                             }
                         }
                     } else {
@@ -243,6 +305,8 @@ public class Menu {
                 scanner.nextLine(); // Clear the input buffer
             } catch (EmptyShowtimes e) {
                 System.out.println(e.getMessage());
+            } catch (NotFoundException e) {
+                System.out.println(e.getMessage());
             } catch (InvalidIndexException e) {
                 System.out.println(e.getMessage());
             }
@@ -251,6 +315,75 @@ public class Menu {
         }
     }
 
+    /**
+     * Muestra el primer horario libre de una sala para una película a partir de un horario dado.
+     *
+     * @param index  El índice de la película.
+     * @param screen La sala de proyección.
+     * @param from   El horario desde el cual buscar.
+     */
+    private void printNextFreeStart(int index, ScreeningRoom screen, Time from) {
+        try {
+            Time freeStart = cinema.getShowtimes().findFreeStart(index, screen, from);
+            if (freeStart != null) {
+                System.out.println("Next free start time in this screen: " + freeStart);
+            } else {
+                System.out.println("There is no free time left in this screen today.");
+            }
+        } catch (InvalidIndexException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Permite elegir una de las salas de proyección asignadas a una película.
+     * Si la película tiene una sola sala, se elige directamente.
+     *
+     * @param title El título de la película.
+     * @return La sala elegida, o null si la opción es inválida.
+     * @throws NotFoundException Si la película no tiene salas asignadas.
+     */
+    private ScreeningRoom selectAssignedScreen(String title) throws NotFoundException {
+        LinkedList<ScreeningRoom> screens = new LinkedList<>(cinema.getShowtimes().getScreeningRoomsByTitle(title));
+        if (screens.size() == 1) {
+            return screens.getFirst();
+        }
+        System.out.println("Select Screening Room:");
+        for (int i = 0; i < screens.size(); i++) {
+            ScreeningRoom screen = screens.get(i);
+            System.out.println((i + 1) + ". Screen " + screen.getId() + " (" + screen.getScreenType() + ", " + screen.getSoundSystem() + ")");
+        }
+        System.out.print("Enter your choice: ");
+        int choice = scanner.nextInt();
+        scanner.nextLine(); // Consume newline character
+        if (choice < 1 || choice > screens.size()) {
+            System.out.println("Invalid choice.");
+            return null;
+        }
+        return screens.get(choice - 1);
+    }
+
+    /**
+     * Establece el tiempo de limpieza entre funciones de una misma sala.
+     */
+    private void setCleaningGap() {
+        try {
+            System.out.println("Current cleaning gap: " + cinema.getShowtimes().getCleaningGap() + " min");
+            System.out.println("Enter cleaning gap in minutes: ");
+            int minutes = scanner.nextInt();
+            scanner.nextLine();
+            if (minutes < 0) {
+                System.out.println("Error: Cleaning gap cannot be negative.");
+            } else {
+                cinema.getShowtimes().setCleaningGap(minutes);
+                System.out.println("Cleaning gap set to " + minutes + " min.");
+            }
+        } catch (InputMismatchException e) {
+            System.out.println("Invalid choice. Please enter a number.");
+            scanner.nextLine(); // Clear the input buffer
+        }
+    }
+
     /**
      * Verifica si el formato del horario de proyección es correcto.
      *
@@ -271,49 +404,46 @@ public class Menu {
             System.out.print("Enter movie index: ");
             int index = scanner.nextInt();
             scanner.nextLine(); // Consume newline character
+            cinema.getShowtimes().getTitleByIndex(index); // Verificar el índice antes de elegir la sala
+
+            ScreeningRoom screeningRoom = null;
+            boolean validChoice = false;
+            while (!validChoice) {
+                System.out.println("Select Screening Room:");
+                System.out.println("1. Standard");
+                System.out.println("2. Dolby Atmos");
+                System.out.println("3. VIP");
+                System.out.println("4. IMAX");
+                System.out.print("Enter your choice: ");
+                int choice = scanner.nextInt();
+                scanner.nextLine(); // Consume newline character
 
-            if (!cinema.getShowtimes().hasScreeningRoomByIndex(index)) {
-                ScreeningRoom screeningRoom = null;
-                boolean validChoice = false;
-                while (!validChoice) {
-                    System.out.println("Select Screening Room:");
-                    System.out.println("1. Standard");
-                    System.out.println("2. Dolby Atmos");
-                    System.out.println("3. VIP");
-                    System.out.println("4. IMAX");
-                    System.out.print("Enter your choice: ");
-                    int choice = scanner.nextInt();
-                    scanner.nextLine(); // Consume newline character
-
-                    switch (choice) {
-                        case 1 -> {
-                            screeningRoom = ScreeningRoom.STANDARD;
-                            validChoice = true;
-                        }
-                        case 2 -> {
-                            screeningRoom = ScreeningRoom.DOLBY_ATMOS;
-                            validChoice = true;
-                        }
-                        case 3 -> {
-                            screeningRoom = ScreeningRoom.VIP;
-                            validChoice = true;
-                        }
-                        case 4 -> {
-                            screeningRoom = ScreeningRoom.IMAX;
-                            validChoice = true;
-                        }
-                        default -> System.out.println("Invalid choice. Please try again.");
+                switch (choice) {
+                    case 1 -> {
+                        screeningRoom = ScreeningRoom.STANDARD;
+                        validChoice = true;
                     }
+                    case 2 -> {
+                        screeningRoom = ScreeningRoom.DOLBY_ATMOS;
+                        validChoice = true;
+                    }
+                    case 3 -> {
+                        screeningRoom = ScreeningRoom.VIP;
+                        validChoice = true;
+                    }
+                    case 4 -> {
+                        screeningRoom = ScreeningRoom.IMAX;
+                        validChoice = true;
+                    }
+                    default -> System.out.println("Invalid choice. Please try again.");
                 }
+            }
 
-                try {
-                    cinema.getShowtimes().addScreeningRoom(index, screeningRoom);
-                    System.out.println("Screening room added successfully.");
-                } catch (NotFoundException e) {
-                    System.out.println(e.getMessage());
-                }
-            } else {
-                System.out.println("Error: You have to remove the existing screen from the movie first.");
+            try {
+                cinema.getShowtimes().addScreeningRoom(index, screeningRoom);
+                System.out.println("Screening room added successfully.");
+            } catch (NotFoundException | AlreadyExistsException e) {
+                System.out.println(e.getMessage());
             }
         } catch (InputMismatchException e) {
             System.out.println("Invalid choice. Please enter a number.");
@@ -329,7 +459,189 @@ public class Menu {
      * Muestra toda la cartelera con sus películas, horarios ordenados cronológicamente, sala de proyección y duración de la película.
      */
     private void showAllShowtimes() {
-        System.out.println(cinema.getShowtimes());
+        System.out.println(cinema.showtimesToString());
+    }
+
+    /**
+     * Muestra las funciones con asientos libres que comienzan dentro de un rango de horarios.
+     */
+    private void showShowingsBetween() {
+        Time from = readTime("Enter start of range (hh:mm): ");
+        if (from == null) {
+            return;
+        }
+        Time to = readTime("Enter end of range (hh:mm): ");
+        if (to == null) {
+            return;
+        }
+
+        LinkedList<Showing> showings = cinema.getShowingsWithSeatsBetween(from, to);
+        if (showings.isEmpty()) {
+            System.out.println("No showings with seats left between " + from + " and " + to + ".");
+        } else {
+            System.out.println("Showings between " + from + " and " + to + ":");
+            for (Showing showing : showings) {
+                System.out.println("   • " + showing);
+            }
+        }
+    }
+
+    /**
+     * Busca películas por género, director, actor e idioma.
+     * Opcionalmente, muestra solo las películas con funciones con asientos libres dentro de un rango de horarios.
+     */
+    private void searchMovies() {
+        EnumMap<MovieField, String> criteria = new EnumMap<>(MovieField.class);
+        for (MovieField field : MovieField.values()) {
+            System.out.print(field.getDisplayName() + " (leave blank to skip): ");
+            String value = scanner.nextLine().trim();
+            if (!value.isEmpty()) {
+                criteria.put(field, value);
+            }
+        }
+        if (criteria.isEmpty()) {
+            System.out.println("Enter at least one search criterion.");
+            return;
+        }
+
+        LinkedList<String> titles;
+        System.out.print("Only movies with seats left in a time range? (y/n): ");
+        if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+            Time from = readTime("Enter start of range (hh:mm): ");
+            if (from == null) {
+                return;
+            }
+            Time to = readTime("Enter end of range (hh:mm): ");
+            if (to == null) {
+                return;
+            }
+            titles = cinema.searchMoviesWithSeats(criteria, from, to);
+        } else {
+            titles = cinema.getShowtimes().searchMovies(criteria);
+        }
+
+        if (titles.isEmpty()) {
+            System.out.println("No movies found.");
+            suggestPeople(criteria);
+        } else {
+            System.out.println("Movies found:");
+            for (String title : titles) {
+                System.out.println("   • " + title);
+            }
+        }
+    }
+
+    /**
+     * Busca películas por palabras de su título o de su argumento, aunque estén mal escritas.
+     */
+    private void searchByPlot() {
+        System.out.print("Enter words from the title or plot: ");
+        String query = scanner.nextLine().trim();
+        if (query.isEmpty()) {
+            System.out.println("Enter at least one word.");
+            return;
+        }
+
+        LinkedList<String> titles = cinema.getShowtimes().searchText(query, MAX_SUGGESTIONS);
+        if (titles.isEmpty()) {
+            System.out.println("No movies found.");
+        } else {
+            System.out.println("Movies found:");
+            for (String title : titles) {
+                System.out.println("   • " + title);
+            }
+        }
+    }
+
+    /**
+     * Lee la película elegida por el usuario: su índice en la cartelera o el comienzo de su título.
+     * Si se escribe un texto, se sugieren los títulos que lo completan y se elige uno de ellos.
+     *
+     * @return El índice de la película elegida.
+     * @throws InvalidIndexException Si ningún título completa el texto o la sugerencia elegida no existe.
+     */
+    private int readMovieIndex() throws InvalidIndexException {
+        System.out.print("Enter movie index or the beginning of its title: ");
+        String input = scanner.nextLine().trim();
+        try {
+            return Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            // No es un índice: se busca por título
+        }
+
+        LinkedList<String> suggestions = cinema.getShowtimes().completeTitle(input, MAX_SUGGESTIONS);
+        if (suggestions.isEmpty()) {
+            throw new InvalidIndexException("Error: No movie title starts with \"" + input + "\"");
+        }
+        String title = suggestions.getFirst();
+        if (suggestions.size() > 1) {
+            int i = 1;
+            for (String suggestion : suggestions) {
+                System.out.println(i + ". " + suggestion);
+                i++;
+            }
+            System.out.print("Select a movie: ");
+            try {
+                title = suggestions.get(Integer.parseInt(scanner.nextLine().trim()) - 1);
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                throw new InvalidIndexException("Error: Invalid choice.");
+            }
+        }
+        try {
+            return cinema.getShowtimes().getIndexByTitle(title);
+        } catch (NotFoundException e) {
+            throw new InvalidIndexException(e.getMessage());
+        }
+    }
+
+    /**
+     * Sugiere nombres de actores y directores parecidos a los buscados, cuando una búsqueda no encontró películas.
+     *
+     * @param criteria Los criterios de la búsqueda.
+     */
+    private void suggestPeople(EnumMap<MovieField, String> criteria) {
+        LinkedList<String> suggestions = new LinkedList<>();
+        for (MovieField field : new MovieField[]{MovieField.DIRECTOR, MovieField.ACTORS}) {
+            String value = criteria.get(field);
+            if (value != null) {
+                for (String name : value.split(",")) {
+                    for (String person : cinema.getShowtimes().completePerson(name, MAX_SUGGESTIONS)) {
+                        if (!suggestions.contains(person) && !person.equalsIgnoreCase(name.trim())) {
+                            suggestions.add(person);
+                        }
+                    }
+                }
+            }
+        }
+        if (!suggestions.isEmpty()) {
+            System.out.println("Did you mean: " + String.join(", ", suggestions) + "?");
+        }
+    }
+
+    /**
+     * Lee un horario en formato hh:mm ingresado por el usuario.
+     *
+     * @param prompt El mensaje a mostrar.
+     * @return El horario ingresado, o null si el formato o los valores son inválidos.
+     */
+    private Time readTime(String prompt) {
+        System.out.print(prompt);
+        String timeStr = scanner.nextLine();
+        if (!formatIsCorrect(timeStr)) {
+            System.out.println("Error: Format must be (hh:mm)");
+            return null;
+        }
+        String[] parts = timeStr.split(":");
+        int hour = Integer.parseInt(parts[0]);
+        int minute = Integer.parseInt(parts[1]);
+        if ((hour < 0) || (hour > 23)) {
+            System.out.println("Error: Hour cannot be " + hour);
+            return null;
+        } else if ((minute < 0) || (minute > 59)) {
+            System.out.println("Error: Minutes cannot be " + minute);
+            return null;
+        }
+        return Time.of(hour, minute);
     }
 
     /**
@@ -338,9 +650,7 @@ public class Menu {
     private void showMovieDetails() {
         try {
             System.out.println(cinema.getTitles());
-            System.out.print("Enter movie index: ");
-            int index = scanner.nextInt();
-            scanner.nextLine(); // Consume newline character
+            int index = readMovieIndex();
 
             try {
                 Movie movie = cinema.getShowtimes().getMovieByIndex(index);
@@ -371,9 +681,7 @@ public class Menu {
     private void buyTicketAtCinema() {
         try {
             System.out.println(cinema.getTitles());
-            System.out.print("Enter movie index: ");
-            int movieIndex = scanner.nextInt();
-            scanner.nextLine(); // Consume newline character
+            int movieIndex = readMovieIndex();
 
             if (cinema.getShowtimes().isAvailableForSale(movieIndex)) {
                 String movieTitle = cinema.getShowtimes().getTitleByIndex(movieIndex);
@@ -384,26 +692,33 @@ public class Menu {
                 scanner.nextLine(); // Consume newline character
 
                 try {
-                    Time startTime = cinema.getShowtimes().getTimeByIndex(movieTitle, startTimeIndex);
-                    ScreeningRoom screen = cinema.getShowtimes().getScreeningRoomByTitle(movieTitle);
+                    Showing showing = cinema.getShowtimes().getShowingByIndex(movieTitle, startTimeIndex);
 
-                    if (cinema.hasStock(movieTitle, startTime, screen)) {
+                    if (cinema.hasStock(showing)) {
                         // Generate the list of available seats
-                        String availableSeats = cinema.listSeats(movieTitle, startTime, screen);
+                        String availableSeats = cinema.listSeats(showing);
                         System.out.println("Available seats:\n" + availableSeats);
 
-                        System.out.print("Enter seat number: ");
-                        String seatNumber = scanner.nextLine();
+                        System.out.print("Enter seat numbers separated by spaces, or how many seats you want: ");
+                        LinkedList<String> seatNumbers = readSeats(showing);
 
                         try {
-                            MovieTicket ticket = cinema.buyTicketAtCinema(movieTitle, startTime, screen, seatNumber);
-                            System.out.println("Ticket purchased successfully!\nYour ticket:\n\n" + ticket);
+                            if (seatNumbers.size() == 1) {
+                                MovieTicket ticket = cinema.buyTicketAtCinema(showing, seatNumbers.getFirst());
+                                System.out.println("Ticket purchased successfully!\nYour ticket:\n\n" + ticket);
+                            } else {
+                                LinkedList<MovieTicket> tickets = cinema.buyTicketsAtCinema(showing, seatNumbers);
+                                System.out.println("Tickets purchased successfully!\nYour tickets:");
+                                for (MovieTicket ticket : tickets) {
+                                    System.out.println("\n" + ticket);
+                                }
+                            }
                         } catch (NotAvailableForSaleException e) {
                             System.out.println("Error: " + e.getMessage());
                         }
                     }
                     else {
-                        System.out.println(movieTitle + " at " + startTime + " is out of stock.");
+                        System.out.println(showing + " is out of stock.");
                     }
                 } catch (NotFoundException e) {
                     System.out.println("Error: " + e.getMessage());
@@ -429,9 +744,7 @@ public class Menu {
     private void buyTicketOnline() {
         try {
             System.out.println(cinema.getTitles());
-            System.out.print("Enter movie index: ");
-            int movieIndex = scanner.nextInt();
-            scanner.nextLine(); // Consume newline character
+            int movieIndex = readMovieIndex();
 
             if (cinema.getShowtimes().isAvailableForSale(movieIndex)) {
                 String movieTitle = cinema.getShowtimes().getTitleByIndex(movieIndex);
@@ -441,24 +754,31 @@ public class Menu {
                 int startTimeIndex = scanner.nextInt();
                 scanner.nextLine(); // Consume newline character
                 try {
-                    Time startTime = cinema.getShowtimes().getTimeByIndex(movieTitle, startTimeIndex);
-                    ScreeningRoom screen = cinema.getShowtimes().getScreeningRoomByTitle(movieTitle);
+                    Showing showing = cinema.getShowtimes().getShowingByIndex(movieTitle, startTimeIndex);
 
-                    if (cinema.hasStock(movieTitle, startTime, screen)) {
+                    if (cinema.hasStock(showing)) {
 
                         // Generate the list of available seats
-                        String availableSeats = cinema.listSeats(movieTitle, startTime, screen);
+                        String availableSeats = cinema.listSeats(showing);
                         System.out.println("Available seats:\n" + availableSeats);
 
-                        System.out.print("Enter seat number: ");
-                        String seatNumber = scanner.nextLine();
+                        System.out.print("Enter seat numbers separated by spaces, or how many seats you want: ");
+                        LinkedList<String> seatNumbers = readSeats(showing);
 
-                        String code = cinema.buyTicketOnline(movieTitle, startTime, screen, seatNumber);
+                        String holdCode = cinema.holdTicketsOnline(showing, seatNumbers);
+                        System.out.print("Your seats are held for 5 minutes. Confirm payment? (y/n): ");
+                        String answer = scanner.nextLine().trim();
 
-                        System.out.println("Ticket purchased successfully!\nYour reservation code: " + code);
+                        if (answer.equalsIgnoreCase("y")) {
+                            String code = cinema.confirmOnlineHold(holdCode);
+                            System.out.println("Ticket purchased successfully!\nYour reservation code: " + code);
+                        } else {
+                            cinema.releaseOnlineHold(holdCode);
+                            System.out.println("Purchase cancelled. Your seats have been released.");
+                        }
                     }
                     else {
-                        System.out.println(movieTitle + " at " + startTime + " is out of stock.");
+                        System.out.println(showing + " is out of stock.");
                     }
                 } catch (NotFoundException e) {
                     System.out.println(e.getMessage());
@@ -480,6 +800,44 @@ public class Menu {
         }
     }
 
+    /**
+     * Lee uno o más números de asiento separados por espacios o comas.
+     * Si se ingresa solo una cantidad, se eligen los mejores asientos contiguos disponibles.
+     * Una cantidad de cero o demasiado grande para un int se informa como inválida y no elige ningún asiento.
+     *
+     * @param showing La función.
+     * @return La lista de asientos elegidos.
+     */
+    private LinkedList<String> readSeats(Showing showing) {
+        String input = scanner.nextLine().trim();
+        if (input.matches("\\d+")) {
+            int count;
+            try {
+                count = Integer.parseInt(input);
+            } catch (NumberFormatException e) {
+                count = 0; // Demasiado grande para un int
+            }
+            if (count <= 0) {
+                System.out.println("Invalid number of seats: " + input);
+                return new LinkedList<>();
+            }
+            LinkedList<String> seats = cinema.findBestSeats(showing, count);
+            if (seats.isEmpty()) {
+                System.out.println("There are no " + input + " adjacent seats available.");
+            } else {
+                System.out.println("Selected seats: " + String.join(" ", seats));
+            }
+            return seats;
+        }
+        LinkedList<String> seats = new LinkedList<>();
+        for (String seat : input.split("[\\s,]+")) {
+            if (!seat.isEmpty()) {
+                seats.add(seat);
+            }
+        }
+        return seats;
+    }
+
     /**
      * Canjea un boleto utilizando un código de reserva.
      */
@@ -487,8 +845,10 @@ public class Menu {
         System.out.println("Enter code: ");
         String code = scanner.nextLine();
         try {
-            MovieTicket ticket = cinema.redeemTicket(code);
-            System.out.println(ticket);
+            LinkedList<MovieTicket> tickets = cinema.redeemTicket(code);
+            for (MovieTicket ticket : tickets) {
+                System.out.println(ticket);
+            }
         } catch (NotFoundException e) {
             System.out.println(e.getMessage());
         }
@@ -534,8 +894,8 @@ public class Menu {
                 scanner.nextLine(); // Consume newline character
 
                 try {
-                    Time startTime = cinema.getShowtimes().getTimeByIndex(title, startTimeIndex);
-                    cinema.removeTime(index, startTime);
+                    Showing showing = cinema.getShowtimes().getShowingByIndex(title, startTimeIndex);
+                    cinema.removeTime(index, showing);
                     System.out.println("Showtime removed successfully.");
                 } catch (NotFoundException e) {
                     System.out.println("Error: " + e.getMessage());
@@ -567,8 +927,11 @@ public class Menu {
 
             if (cinema.getShowtimes().hasScreeningRoomByIndex(index)) {
                 try {
-                    cinema.removeScreeningRoom(index);
-                    System.out.println("Screening room removed successfully.");
+                    ScreeningRoom screen = selectAssignedScreen(cinema.getShowtimes().getTitleByIndex(index));
+                    if (screen != null) {
+                        cinema.removeScreeningRoom(index, screen);
+                        System.out.println("Screening room removed successfully.");
+                    }
                 } catch (NotFoundException e) {
                     System.out.println("Error: " + e.getMessage());
                 }
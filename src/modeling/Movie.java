@@ -1,19 +1,38 @@
 package modeling;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
 import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
 
 /**
  * La clase Movie representa una película con sus detalles.
+ * El año, la fecha de estreno y la duración se guardan como números, y la clasificación como un Rating;
+ * el texto original solo se conserva cuando no se puede reconstruir a partir del valor (por ejemplo "N/A"
+ * o "2011–2019"). El género y el idioma se comparten entre películas a través de StringPool.
+ * Las películas guardadas con el formato anterior, con esos datos como texto, se convierten al leerlas.
  * @author Martin Berasueta.
  * @since 06/2023
  * @version 1.0.3
  */
 public class Movie implements Serializable {
+    private static final long serialVersionUID = -7912240129027606012L; // El de la versión con los datos como texto
+    private static final DateTimeFormatter RELEASE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH);
+    private static final int UNKNOWN_DAY = Integer.MIN_VALUE;
+
     private String title;
-    private String year;
-    private String rated;
-    private String released;
-    private String runtime;
+    private int yearNumber; // Año de lanzamiento; 0 si se desconoce
+    private String yearText; // Año original si no es solo el número, por ejemplo "2011–2019"; null en caso contrario
+    private Rating rating; // Clasificación; null si se desconoce o no es una de las conocidas
+    private String ratedText; // Clasificación original si no es un Rating, por ejemplo "N/A"; null en caso contrario
+    private int releasedDay = UNKNOWN_DAY; // Fecha de estreno en días desde 1970-01-01
+    private String releasedText; // Fecha de estreno original si no tiene el formato "16 Jul 2010"; null en caso contrario
+    private int runtimeMinutes; // Duración en minutos; 0 si se desconoce
+    private String runtimeText; // Duración original si no tiene el formato "148 min"; null en caso contrario
     private String genre;
     private String director;
     private String writer;
@@ -51,7 +70,20 @@ public class Movie implements Serializable {
      * @return el año de lanzamiento de la película
      */
     public String getYear() {
-        return year;
+        if (yearText != null || yearNumber == 0) {
+            return yearText;
+        }
+        return Integer.toString(yearNumber);
+    }
+
+    /**
+     * Obtiene el año de lanzamiento de la película como número.
+     * Para una serie con varios años, por ejemplo "2011–2019", es el primero.
+     *
+     * @return el año de lanzamiento, o 0 si se desconoce
+     */
+    public int getYearNumber() {
+        return yearNumber;
     }
 
     /**
@@ -60,7 +92,8 @@ public class Movie implements Serializable {
      * @param year el año de lanzamiento de la película
      */
     public void setYear(String year) {
-        this.year = year;
+        this.yearNumber = parseLeadingNumber(year);
+        this.yearText = yearNumber > 0 && Integer.toString(yearNumber).equals(year) ? null : StringPool.intern(year);
     }
 
     /**
@@ -69,7 +102,16 @@ public class Movie implements Serializable {
      * @return la clasificación de la película
      */
     public String getRated() {
-        return rated;
+        return rating != null ? rating.getLabel() : ratedText;
+    }
+
+    /**
+     * Obtiene la clasificación de la película como Rating.
+     *
+     * @return la clasificación, o null si se desconoce o no es una de las conocidas
+     */
+    public Rating getRating() {
+        return rating;
     }
 
     /**
@@ -78,7 +120,8 @@ public class Movie implements Serializable {
      * @param rated la clasificación de la película
      */
     public void setRated(String rated) {
-        this.rated = rated;
+        this.rating = Rating.fromLabel(rated);
+        this.ratedText = rating != null ? null : StringPool.intern(rated);
     }
 
     /**
@@ -87,7 +130,19 @@ public class Movie implements Serializable {
      * @return la fecha de lanzamiento de la película
      */
     public String getReleased() {
-        return released;
+        if (releasedText != null || releasedDay == UNKNOWN_DAY) {
+            return releasedText;
+        }
+        return RELEASE_FORMAT.format(LocalDate.ofEpochDay(releasedDay));
+    }
+
+    /**
+     * Obtiene la fecha de estreno de la película.
+     *
+     * @return la fecha de estreno, o null si se desconoce
+     */
+    public LocalDate getReleaseDate() {
+        return releasedDay == UNKNOWN_DAY ? null : LocalDate.ofEpochDay(releasedDay);
     }
 
     /**
@@ -96,7 +151,19 @@ public class Movie implements Serializable {
      * @param released la fecha de lanzamiento de la película
      */
     public void setReleased(String released) {
-        this.released = released;
+        this.releasedDay = UNKNOWN_DAY;
+        this.releasedText = StringPool.intern(released);
+        if (released != null && released.length() == 11) {
+            try {
+                LocalDate date = LocalDate.parse(released, RELEASE_FORMAT);
+                this.releasedDay = (int) date.toEpochDay();
+                if (RELEASE_FORMAT.format(date).equals(released)) {
+                    this.releasedText = null;
+                }
+            } catch (DateTimeParseException exception) {
+                // Se conserva el texto original
+            }
+        }
     }
 
     /**
@@ -105,7 +172,10 @@ public class Movie implements Serializable {
      * @return la duración de la película
      */
     public String getRuntime() {
-        return runtime;
+        if (runtimeText != null || runtimeMinutes == 0) {
+            return runtimeText;
+        }
+        return runtimeMinutes + " min";
     }
 
     /**
@@ -114,7 +184,74 @@ public class Movie implements Serializable {
      * @param runtime la duración de la película
      */
     public void setRuntime(String runtime) {
-        this.runtime = runtime;
+        this.runtimeMinutes = parseLeadingNumber(runtime);
+        this.runtimeText = runtimeMinutes > 0 && (runtimeMinutes + " min").equals(runtime) ? null : StringPool.intern(runtime);
+    }
+
+    /**
+     * Obtiene la duración de la película en minutos.
+     *
+     * @return la duración en minutos, o 0 si se desconoce
+     */
+    public int getRuntimeMinutes() {
+        return runtimeMinutes;
+    }
+
+    /**
+     * Lee una película guardada. Si se guardó con el formato anterior, en el que el año, la clasificación,
+     * la fecha de estreno y la duración eran texto, se convierten con los mismos métodos que al establecerlos.
+     *
+     * @param input el flujo del que se lee la película
+     * @throws IOException            si no se pudo leer el flujo
+     * @throws ClassNotFoundException si no se encuentra la clase de algún dato guardado
+     */
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = input.readFields();
+        ObjectStreamClass saved = fields.getObjectStreamClass();
+        title = (String) fields.get("title", null);
+        if (saved.getField("yearText") == null) {
+            setYear((String) fields.get("year", null));
+            setRated((String) fields.get("rated", null));
+            setReleased((String) fields.get("released", null));
+            setRuntime((String) fields.get("runtime", null));
+        } else {
+            yearNumber = fields.get("yearNumber", 0);
+            yearText = (String) fields.get("yearText", null);
+            rating = (Rating) fields.get("rating", null);
+            ratedText = (String) fields.get("ratedText", null);
+            releasedDay = fields.get("releasedDay", UNKNOWN_DAY);
+            releasedText = (String) fields.get("releasedText", null);
+            runtimeMinutes = fields.get("runtimeMinutes", 0);
+            runtimeText = (String) fields.get("runtimeText", null);
+        }
+        genre = StringPool.intern((String) fields.get("genre", null));
+        director = (String) fields.get("director", null);
+        writer = (String) fields.get("writer", null);
+        actors = (String) fields.get("actors", null);
+        plot = (String) fields.get("plot", null);
+        language = StringPool.intern((String) fields.get("language", null));
+    }
+
+    /**
+     * Obtiene el número con el que comienza un texto, como la duración "148 min" o el año "2011–2019".
+     *
+     * @param text el texto
+     * @return el número, o 0 si el texto no comienza con un número (por ejemplo "N/A")
+     */
+    private static int parseLeadingNumber(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int number = 0;
+        int i = 0;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9' && number < 100000) {
+            number = number * 10 + (text.charAt(i) - '0');
+            i++;
+        }
+        return number;
     }
 
     /**
@@ -132,7 +269,7 @@ public class Movie implements Serializable {
      * @param genre el género de la película
      */
     public void setGenre(String genre) {
-        this.genre = genre;
+        this.genre = StringPool.intern(genre);
     }
 
     /**
@@ -222,7 +359,7 @@ public class Movie implements Serializable {
      * @param language el idioma de la película
      */
     public void setLanguage(String language) {
-        this.language = language;
+        this.language = StringPool.intern(language);
     }
 
     /**
@@ -0,0 +1,458 @@
+package modeling;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Caché de las respuestas de OMDb, con dos niveles: memoria y disco.
+ * Las respuestas se guardan por título normalizado (en minúsculas y con un solo espacio entre palabras).
+ * En memoria se conservan las más usadas recientemente, hasta una capacidad fija; en disco se conservan todas
+ * en un archivo de texto con una línea por respuesta: fecha de guardado en milisegundos, título normalizado y JSON,
+ * separados por tabulaciones. Del archivo solo se mantiene en memoria la posición y el largo de cada línea, y la línea
+ * se lee de una sola vez cuando hace falta, con un lector que queda abierto. Una respuesta vence pasado el tiempo de
+ * vida, en ambos niveles, pero se sigue guardando para usarla cuando no se puede consultar OMDb.
+ * El archivo solo se escribe agregando líneas al final; cuando la mayoría de sus líneas quedaron reemplazadas,
+ * se reescribe con la última línea de cada título. Para probar sin conexión alcanza con escribir el archivo de antemano.
+ */
+public class MovieCache {
+    public static final String DEFAULT_FILE_PATH = "movie_cache.txt";
+    public static final int DEFAULT_CAPACITY = 128;
+    public static final long DEFAULT_TIME_TO_LIVE = 7L * 24 * 60 * 60 * 1000; // Una semana
+    private static final int MIN_LINES_TO_COMPACT = 64;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final File file;
+    private final long timeToLive; // En milisegundos
+    private final LinkedHashMap<String, Entry> memory; // Respuestas en memoria, de la menos a la más usada
+    private HashMap<String, Location> diskOffsets; // Posición en el archivo de cada respuesta; null hasta leer el archivo
+    private int diskLines; // Líneas del archivo, incluidas las reemplazadas
+    private RandomAccessFile reader; // Lector del archivo; null hasta la primera lectura
+
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+    private long lookupNanos; // Tiempo total de las consultas a la caché
+    private long fetches;
+    private long fetchNanos; // Tiempo total de las consultas a OMDb
+
+    /**
+     * Respuesta guardada y la fecha en que se obtuvo.
+     */
+    private static class Entry {
+        private final String json;
+        private final long savedAt;
+
+        private Entry(String json, long savedAt) {
+            this.json = json;
+            this.savedAt = savedAt;
+        }
+    }
+
+    /**
+     * Posición y largo de una línea del archivo, sin contar el salto de línea.
+     */
+    private static class Location {
+        private final long offset;
+        private final int length;
+
+        private Location(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Crea una caché con el archivo, la capacidad y el tiempo de vida predeterminados.
+     */
+    public MovieCache() {
+        this(DEFAULT_FILE_PATH, DEFAULT_CAPACITY, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Crea una caché.
+     *
+     * @param filePath   la ruta del archivo de la caché en disco
+     * @param capacity   la cantidad máxima de respuestas en memoria
+     * @param timeToLive el tiempo de vida de una respuesta, en milisegundos
+     * @throws IllegalArgumentException si la capacidad o el tiempo de vida no son positivos
+     */
+    public MovieCache(String filePath, int capacity, long timeToLive) {
+        if (capacity <= 0 || timeToLive <= 0) {
+            throw new IllegalArgumentException("Capacity and time to live must be positive");
+        }
+        this.file = new File(filePath);
+        this.timeToLive = timeToLive;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.diskOffsets = null;
+        this.diskLines = 0;
+        this.reader = null;
+    }
+
+    /**
+     * Busca la respuesta guardada para un título, primero en memoria y luego en disco.
+     * Una respuesta encontrada en disco pasa a memoria.
+     *
+     * @param title el título buscado
+     * @return el JSON guardado, o null si no hay una respuesta vigente
+     */
+    public synchronized String get(String title) {
+        String key = normalize(title);
+        if (key.isEmpty()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        String json = null;
+
+        Entry entry = memory.get(key);
+        if (entry != null && isFresh(entry, now)) {
+            memoryHits++;
+            json = entry.json;
+        } else {
+            memory.remove(key);
+            entry = readFromDisk(key);
+            if (entry != null && isFresh(entry, now)) {
+                diskHits++;
+                memory.put(key, entry);
+                json = entry.json;
+            } else {
+                misses++;
+            }
+        }
+        lookupNanos += System.nanoTime() - start;
+        return json;
+    }
+
+    /**
+     * Busca la respuesta guardada para un título aunque haya vencido, para usarla cuando no se puede consultar OMDb.
+     * No se cuenta en las estadísticas de la caché.
+     *
+     * @param title el título buscado
+     * @return el JSON guardado, o null si no hay ninguna respuesta para el título
+     */
+    public synchronized String getStale(String title) {
+        String key = normalize(title);
+        if (key.isEmpty()) {
+            return null;
+        }
+        Entry entry = memory.get(key);
+        if (entry == null) {
+            entry = readFromDisk(key);
+        }
+        return entry != null ? entry.json : null;
+    }
+
+    /**
+     * Guarda la respuesta de un título en memoria y en disco.
+     *
+     * @param title el título
+     * @param json  el JSON de la respuesta, en una sola línea
+     */
+    public synchronized void put(String title, String json) {
+        String key = normalize(title);
+        if (key.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(json, System.currentTimeMillis());
+        memory.put(key, entry);
+        writeToDisk(key, entry);
+    }
+
+    /**
+     * Guarda varias respuestas de una vez, abriendo el archivo una sola vez para todas y escribiendo por bloques.
+     * Solo las últimas respuestas, hasta la capacidad, quedan además en memoria. Las posiciones de las nuevas líneas
+     * se registran recién cuando el archivo se escribió completo.
+     *
+     * @param responses el JSON de cada respuesta, en una sola línea, por título
+     */
+    public synchronized void putAll(Map<String, String> responses) {
+        loadDiskOffsets();
+        long now = System.currentTimeMillis();
+        HashMap<String, Location> written = new HashMap<>();
+        try (BufferedOutputStream output = new BufferedOutputStream(new FileOutputStream(file, true), WRITE_BUFFER_SIZE)) {
+            long offset = file.length();
+            for (Map.Entry<String, String> response : responses.entrySet()) {
+                String key = normalize(response.getKey());
+                if (!key.isEmpty()) {
+                    Entry entry = new Entry(response.getValue(), now);
+                    byte[] line = toLine(key, entry);
+                    output.write(line);
+                    memory.put(key, entry);
+                    written.put(key, new Location(offset, line.length - 1));
+                    offset += line.length;
+                }
+            }
+        } catch (IOException exception) {
+            System.out.println("Movie cache: " + exception.getMessage());
+            return;
+        }
+        diskOffsets.putAll(written);
+        diskLines += written.size();
+        if (diskLines >= MIN_LINES_TO_COMPACT && diskLines > 2 * diskOffsets.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Registra el tiempo de una consulta a OMDb hecha porque la respuesta no estaba en la caché.
+     *
+     * @param nanos la duración de la consulta, en nanosegundos
+     */
+    public synchronized void recordFetch(long nanos) {
+        fetches++;
+        fetchNanos += nanos;
+    }
+
+    /**
+     * Obtiene las estadísticas de uso de la caché.
+     *
+     * @return los aciertos en memoria y en disco, los fallos y los tiempos promedio
+     */
+    public synchronized String getStats() {
+        long lookups = memoryHits + diskHits + misses;
+        double hitRate = lookups == 0 ? 0 : 100.0 * (memoryHits + diskHits) / lookups;
+        double averageLookup = lookups == 0 ? 0 : lookupNanos / 1e6 / lookups;
+        double averageFetch = fetches == 0 ? 0 : fetchNanos / 1e6 / fetches;
+        return String.format(Locale.ROOT,
+                "Lookups: %d (%d memory hits, %d disk hits, %d misses, %.1f%% hit rate)%n"
+                        + "Average lookup: %.3f ms, average OMDb request: %.1f ms (%d requests)",
+                lookups, memoryHits, diskHits, misses, hitRate, averageLookup, averageFetch, fetches);
+    }
+
+    /**
+     * Verifica si una respuesta no venció.
+     *
+     * @param entry la respuesta
+     * @param now   la fecha actual en milisegundos
+     * @return true si la respuesta está vigente, false en caso contrario
+     */
+    private boolean isFresh(Entry entry, long now) {
+        return now - entry.savedAt < timeToLive;
+    }
+
+    /**
+     * Lee una respuesta del archivo.
+     *
+     * @param key el título normalizado
+     * @return la respuesta, o null si no está en el archivo o no se pudo leer
+     */
+    private Entry readFromDisk(String key) {
+        loadDiskOffsets();
+        Location location = diskOffsets.get(key);
+        if (location == null) {
+            return null;
+        }
+        try {
+            if (reader == null) {
+                reader = new RandomAccessFile(file, "r");
+            }
+            byte[] line = new byte[location.length];
+            reader.seek(location.offset);
+            reader.readFully(line);
+            return parseLine(line, 0, line.length);
+        } catch (IOException | NumberFormatException exception) {
+            System.out.println("Movie cache: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Agrega una respuesta al final del archivo, y lo reescribe si tiene demasiadas líneas reemplazadas.
+     *
+     * @param key   el título normalizado
+     * @param entry la respuesta
+     */
+    private void writeToDisk(String key, Entry entry) {
+        loadDiskOffsets();
+        try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+            long offset = output.length();
+            output.seek(offset);
+            byte[] line = toLine(key, entry);
+            output.write(line);
+            diskOffsets.put(key, new Location(offset, line.length - 1));
+            diskLines++;
+        } catch (IOException exception) {
+            System.out.println("Movie cache: " + exception.getMessage());
+            return;
+        }
+        if (diskLines >= MIN_LINES_TO_COMPACT && diskLines > 2 * diskOffsets.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Reescribe el archivo con la última respuesta de cada título, esté vigente o no, para que siga disponible
+     * cuando no se puede consultar OMDb. El archivo se lee una sola vez y las líneas se copian sin decodificarlas.
+     */
+    private void compact() {
+        File temporary = new File(file.getPath() + ".tmp");
+        HashMap<String, Location> offsets = new HashMap<>();
+        try (BufferedOutputStream output = new BufferedOutputStream(new FileOutputStream(temporary))) {
+            byte[] content = Files.readAllBytes(file.toPath());
+            long offset = 0;
+            for (Map.Entry<String, Location> line : diskOffsets.entrySet()) {
+                Location location = line.getValue();
+                if (location.offset + location.length > content.length) {
+                    continue; // El archivo se modificó por fuera de la caché: la línea ya no está
+                }
+                output.write(content, (int) location.offset, location.length);
+                output.write('\n');
+                offsets.put(line.getKey(), new Location(offset, location.length));
+                offset += location.length + 1;
+            }
+        } catch (IOException exception) {
+            System.out.println("Movie cache: " + exception.getMessage());
+            return;
+        }
+        try {
+            closeReader();
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            diskOffsets = offsets;
+            diskLines = offsets.size();
+        } catch (IOException exception) {
+            System.out.println("Movie cache: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Lee el archivo una vez para conocer la posición de la última línea de cada título.
+     */
+    private void loadDiskOffsets() {
+        if (diskOffsets != null) {
+            return;
+        }
+        diskOffsets = new HashMap<>();
+        diskLines = 0;
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            byte[] content = Files.readAllBytes(file.toPath());
+            int start = 0;
+            while (start < content.length) {
+                int end = start;
+                while (end < content.length && content[end] != '\n') {
+                    end++;
+                }
+                String key = keyOf(content, start, end);
+                if (key != null) {
+                    diskOffsets.put(key, new Location(start, end - start));
+                    diskLines++;
+                }
+                start = end + 1;
+            }
+        } catch (IOException exception) {
+            System.out.println("Movie cache: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Cierra el lector del archivo, por ejemplo antes de reemplazar el archivo.
+     */
+    private void closeReader() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException exception) {
+                System.out.println("Movie cache: " + exception.getMessage());
+            }
+            reader = null;
+        }
+    }
+
+    /**
+     * Obtiene el título normalizado de una línea del archivo, sin decodificar el JSON.
+     *
+     * @param content el contenido del archivo
+     * @param start   la posición donde empieza la línea
+     * @param end     la posición donde termina la línea, sin contar el salto de línea
+     * @return el título normalizado, o null si la línea no tiene el formato esperado
+     */
+    private static String keyOf(byte[] content, int start, int end) {
+        int first = indexOfTab(content, start, end);
+        int second = first < 0 ? -1 : indexOfTab(content, first + 1, end);
+        return second < 0 ? null : new String(content, first + 1, second - first - 1, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Convierte una línea del archivo en una respuesta.
+     *
+     * @param content el contenido que incluye la línea
+     * @param start   la posición donde empieza la línea
+     * @param end     la posición donde termina la línea, sin contar el salto de línea
+     * @return la respuesta, o null si la línea no tiene el formato esperado
+     * @throws NumberFormatException si la fecha de guardado no es un número
+     */
+    private static Entry parseLine(byte[] content, int start, int end) {
+        int first = indexOfTab(content, start, end);
+        int second = first < 0 ? -1 : indexOfTab(content, first + 1, end);
+        if (second < 0) {
+            return null;
+        }
+        long savedAt = Long.parseLong(new String(content, start, first - start, StandardCharsets.US_ASCII));
+        return new Entry(new String(content, second + 1, end - second - 1, StandardCharsets.UTF_8), savedAt);
+    }
+
+    /**
+     * Busca la próxima tabulación de una línea.
+     *
+     * @param content el contenido que incluye la línea
+     * @param from    la posición desde donde buscar
+     * @param end     la posición donde termina la línea
+     * @return la posición de la tabulación, o -1 si no hay
+     */
+    private static int indexOfTab(byte[] content, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (content[i] == '\t') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Convierte una respuesta en una línea del archivo.
+     *
+     * @param key   el título normalizado
+     * @param entry la respuesta
+     * @return la línea codificada en UTF-8, terminada en salto de línea
+     */
+    private static byte[] toLine(String key, Entry entry) {
+        String json = entry.json.replace('\n', ' ').replace('\r', ' ');
+        return (entry.savedAt + "\t" + key + "\t" + json + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Normaliza un título para usarlo como clave: en minúsculas y con un solo espacio entre palabras.
+     * Los títulos que ya tienen un solo espacio entre palabras, que son la mayoría, se normalizan sin expresiones regulares.
+     *
+     * @param title el título
+     * @return el título normalizado
+     */
+    static String normalize(String title) {
+        String trimmed = title.trim();
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            // Los mismos caracteres que \s; después de trim un espacio nunca es el último carácter
+            if (c == ' ' ? trimmed.charAt(i + 1) == ' ' : c >= '\t' && c <= '\r') {
+                return trimmed.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            }
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+}
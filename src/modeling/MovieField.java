@@ -0,0 +1,47 @@
+package modeling;
+
+/**
+ * La enumeración MovieField representa los campos de una película por los que se puede buscar.
+ * Cada campo contiene una lista de valores separados por comas, como "Animation, Comedy".
+ */
+public enum MovieField {
+    GENRE("Genre"),
+    DIRECTOR("Director"),
+    ACTORS("Actor"),
+    LANGUAGE("Language");
+
+    private final String displayName;
+
+    /**
+     * Construye un campo de búsqueda con su nombre para mostrar.
+     *
+     * @param displayName el nombre del campo para mostrar
+     */
+    MovieField(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Obtiene el nombre del campo para mostrar.
+     *
+     * @return el nombre del campo
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Obtiene el valor del campo en una película.
+     *
+     * @param movie la película
+     * @return el valor del campo, o null si la película no lo tiene
+     */
+    public String getValue(Movie movie) {
+        return switch (this) {
+            case GENRE -> movie.getGenre();
+            case DIRECTOR -> movie.getDirector();
+            case ACTORS -> movie.getActors();
+            case LANGUAGE -> movie.getLanguage();
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package modeling;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Índice invertido de películas por género, director, actores e idioma.
+ * Cada valor de un campo (por ejemplo "animation" en el género) tiene una lista ordenada con los números
+ * de las películas que lo contienen. Una búsqueda por varios campos intersecta esas listas empezando por
+ * la más corta, sin recorrer todas las películas.
+ * Los números de película se asignan en orden creciente, por lo que agregar una película solo agrega
+ * al final de cada lista; eliminarla la quita de las listas de sus propios valores.
+ */
+public class MovieIndex implements Serializable {
+    private static final String MISSING_VALUE = "n/a";
+
+    private final HashMap<String, Integer> movieIds; // Número asignado a cada título
+    private final ArrayList<String> titlesById; // Título de cada número; null si la película se eliminó
+    private final EnumMap<MovieField, HashMap<String, Postings>> postings; // Listas de cada valor, por campo
+
+    /**
+     * Crea un índice vacío.
+     */
+    public MovieIndex() {
+        movieIds = new HashMap<>();
+        titlesById = new ArrayList<>();
+        postings = new EnumMap<>(MovieField.class);
+        for (MovieField field : MovieField.values()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    /**
+     * Agrega una película al índice.
+     *
+     * @param movie la película
+     */
+    public void add(Movie movie) {
+        if (movieIds.containsKey(movie.getTitle())) {
+            return;
+        }
+        int id = titlesById.size();
+        movieIds.put(movie.getTitle(), id);
+        titlesById.add(movie.getTitle());
+        for (MovieField field : MovieField.values()) {
+            HashMap<String, Postings> fieldPostings = postings.get(field);
+            for (String term : tokenize(field.getValue(movie))) {
+                // Un mismo valor puede repetirse en el campo; la lista solo guarda la película una vez
+                fieldPostings.computeIfAbsent(term, key -> new Postings()).add(id);
+            }
+        }
+    }
+
+    /**
+     * Quita una película del índice. Solo se modifican las listas de los valores de la película.
+     *
+     * @param movie la película
+     */
+    public void remove(Movie movie) {
+        Integer id = movieIds.remove(movie.getTitle());
+        if (id == null) {
+            return;
+        }
+        titlesById.set(id, null);
+        for (MovieField field : MovieField.values()) {
+            HashMap<String, Postings> fieldPostings = postings.get(field);
+            for (String term : tokenize(field.getValue(movie))) {
+                Postings list = fieldPostings.get(term);
+                if (list != null) {
+                    list.remove(id);
+                    if (list.size() == 0) {
+                        fieldPostings.remove(term);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca las películas que cumplen todos los criterios indicados. Cada criterio puede tener varios
+     * valores separados por comas, y la película debe contenerlos a todos.
+     *
+     * @param criteria los valores buscados en cada campo
+     * @return los títulos de las películas encontradas, en el orden en que se agregaron al índice
+     */
+    public LinkedList<String> search(Map<MovieField, String> criteria) {
+        LinkedList<String> result = new LinkedList<>();
+        ArrayList<Postings> lists = new ArrayList<>();
+        for (Map.Entry<MovieField, String> criterion : criteria.entrySet()) {
+            for (String term : tokenize(criterion.getValue())) {
+                Postings list = postings.get(criterion.getKey()).get(term);
+                if (list == null) {
+                    return result;
+                }
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return result;
+        }
+
+        // Se recorre la lista más corta y se verifica cada número en las demás con búsqueda binaria
+        lists.sort((first, second) -> Integer.compare(first.size(), second.size()));
+        Postings shortest = lists.get(0);
+        for (int i = 0; i < shortest.size(); i++) {
+            int id = shortest.get(i);
+            boolean matches = true;
+            for (int j = 1; j < lists.size() && matches; j++) {
+                matches = lists.get(j).contains(id);
+            }
+            if (matches) {
+                result.add(titlesById.get(id));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Separa el valor de un campo en sus términos: los valores separados por comas, sin espacios
+     * alrededor y en minúsculas. Se descartan los valores vacíos y los que indican un dato faltante.
+     *
+     * @param value el valor del campo
+     * @return los términos del valor
+     */
+    private static LinkedList<String> tokenize(String value) {
+        LinkedList<String> terms = new LinkedList<>();
+        if (value == null) {
+            return terms;
+        }
+        for (String part : value.split(",")) {
+            String term = part.trim().toLowerCase(Locale.ROOT);
+            if (!term.isEmpty() && !term.equals(MISSING_VALUE)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
@@ -59,6 +59,15 @@ public class MovieTicket implements Serializable {
         return screeningRoom;
     }
 
+    /**
+     * Obtiene la función del boleto.
+     *
+     * @return la función (película, horario y sala de proyección)
+     */
+    public Showing getShowing() {
+        return new Showing(title, time, screeningRoom);
+    }
+
     /**
      * Obtiene el asiento del boleto.
      *
@@ -2,9 +2,11 @@ package modeling;
 
 import exceptions.AlreadyExistsException;
 import exceptions.NotAvailableForSaleException;
+import exceptions.NotFoundException;
 import interfaces.ITicketManagement;
 
 import java.io.Serializable;
+import java.util.LinkedList;
 
 /**
  * Representa una taquilla de boletos en línea que vende boletos en colaboración con una taquilla de boletos de cine.
@@ -14,6 +16,7 @@ import java.io.Serializable;
  * @version 1.0.3
  */
 public class OnlineTicketOffice extends TicketOffice implements ITicketManagement<String, CinemaTicketOffice>, Serializable {
+    private static final long HOLD_DURATION_MILLIS = 5 * 60 * 1000; // Tiempo para completar el pago
 
     /**
      * Crea una nueva instancia de `OnlineTicketOffice`.
@@ -27,36 +30,113 @@ public class OnlineTicketOffice extends TicketOffice implements ITicketManagemen
      * Vende un boleto para una película en un horario y sala de proyección específicos, en colaboración con una taquilla de boletos de cine.
      * En lugar de devolver el boleto, devuelve el código de reserva para luego canjear la entrada en el cine.
      *
-     * @param title              El título de la película.
-     * @param time               El horario de la función.
-     * @param screeningRoom      La sala de proyección.
+     * @param showing            La función (película, horario y sala de proyección).
      * @param seat               El asiento deseado.
      * @param cinemaTicketOffice La taquilla de boletos de cine asociada.
      * @return El código de reserva del boleto vendido.
      * @throws NotAvailableForSaleException Si el asiento no está disponible para la venta.
      */
     @Override
-    public String sellTicket(String title, Time time, ScreeningRoom screeningRoom, String seat, CinemaTicketOffice cinemaTicketOffice) throws NotAvailableForSaleException {
-        if (cinemaTicketOffice.isTicketAvailable(title, time, seat)) {
+    public String sellTicket(Showing showing, String seat, CinemaTicketOffice cinemaTicketOffice) throws NotAvailableForSaleException {
+        SeatClaim claim = cinemaTicketOffice.claimSeat(showing, seat);
+        if (claim.isClaimed()) {
+            ScreeningRoom screeningRoom = showing.getScreeningRoom();
             double price = getPrice();
             if (screeningRoom.hasVipSeats()) {
                 price = additionalCost();
             }
-            MovieTicket ticket = cinemaTicketOffice.removeTicketFromStock(title, time, seat);
-            ticket.setPrice(price);
+            MovieTicket ticket = new MovieTicket(showing.getTitle(), showing.getTime(), screeningRoom, screeningRoom.normalizeSeat(seat), price);
+            LinkedList<MovieTicket> tickets = new LinkedList<>();
+            tickets.add(ticket);
+            return reserveTickets(tickets, cinemaTicketOffice);
+        }
+        else {
+            throw new NotAvailableForSaleException(claim.getMessage());
+        }
+    }
+
+    /**
+     * Vende un grupo de boletos para una misma función de manera atómica (todos o ninguno),
+     * en colaboración con una taquilla de boletos de cine. El precio se calcula una sola vez para todo el grupo
+     * y se devuelve un único código de reserva para canjear todas las entradas en el cine.
+     *
+     * @param showing            La función (película, horario y sala de proyección).
+     * @param seats              Los asientos deseados.
+     * @param cinemaTicketOffice La taquilla de boletos de cine asociada.
+     * @return El código de reserva de los boletos vendidos.
+     * @throws NotAvailableForSaleException Si alguno de los asientos no está disponible para la venta.
+     */
+    public String sellTickets(Showing showing, LinkedList<String> seats, CinemaTicketOffice cinemaTicketOffice) throws NotAvailableForSaleException {
+        SeatClaim claim = cinemaTicketOffice.claimSeats(showing, seats);
+        if (claim.isClaimed()) {
+            ScreeningRoom screeningRoom = showing.getScreeningRoom();
+            double price = getPrice();
+            if (screeningRoom.hasVipSeats()) {
+                price = additionalCost();
+            }
+            LinkedList<MovieTicket> tickets = new LinkedList<>();
+            for (String seat : seats) {
+                tickets.add(new MovieTicket(showing.getTitle(), showing.getTime(), screeningRoom, screeningRoom.normalizeSeat(seat), price));
+            }
+            return reserveTickets(tickets, cinemaTicketOffice);
+        }
+        else {
+            throw new NotAvailableForSaleException(claim.getMessage());
+        }
+    }
+
+    /**
+     * Retiene un grupo de asientos de una función mientras el cliente completa el pago.
+     * Si la retención no se confirma a tiempo, los asientos vuelven a estar disponibles.
+     *
+     * @param showing            La función (película, horario y sala de proyección).
+     * @param seats              Los asientos deseados.
+     * @param cinemaTicketOffice La taquilla de boletos de cine asociada.
+     * @return El código de la retención.
+     * @throws NotAvailableForSaleException Si alguno de los asientos no está disponible para la venta.
+     */
+    public String holdTickets(Showing showing, LinkedList<String> seats, CinemaTicketOffice cinemaTicketOffice) throws NotAvailableForSaleException {
+        return cinemaTicketOffice.holdSeats(showing, seats, HOLD_DURATION_MILLIS);
+    }
 
+    /**
+     * Confirma una retención de asientos una vez completado el pago y vende los boletos retenidos.
+     *
+     * @param holdCode           El código de la retención.
+     * @param cinemaTicketOffice La taquilla de boletos de cine asociada.
+     * @return El código de reserva de los boletos vendidos.
+     * @throws NotFoundException Si la retención no existe o ya venció.
+     */
+    public String confirmHold(String holdCode, CinemaTicketOffice cinemaTicketOffice) throws NotFoundException {
+        SeatHold hold = cinemaTicketOffice.confirmHold(holdCode);
+        double price = getPrice();
+        if (hold.getScreeningRoom().hasVipSeats()) {
+            price = additionalCost();
+        }
+        LinkedList<MovieTicket> tickets = new LinkedList<>();
+        for (String seat : hold.getSeats()) {
+            tickets.add(new MovieTicket(hold.getShowing().getTitle(), hold.getShowing().getTime(), hold.getScreeningRoom(), seat, price));
+        }
+        return reserveTickets(tickets, cinemaTicketOffice);
+    }
+
+    /**
+     * Registra los boletos vendidos en la taquilla de cine bajo un código de reserva nuevo.
+     * Si el código generado ya existe, se genera otro.
+     *
+     * @param tickets            Los boletos vendidos.
+     * @param cinemaTicketOffice La taquilla de boletos de cine asociada.
+     * @return El código de reserva.
+     */
+    private String reserveTickets(LinkedList<MovieTicket> tickets, CinemaTicketOffice cinemaTicketOffice) {
+        while (true) {
             String code = RandomCodeGenerator.generateRandomCode();
             try {
-                cinemaTicketOffice.addReservedTicket(code, ticket);
+                cinemaTicketOffice.addReservedTickets(code, tickets);
+                return code;
             } catch (AlreadyExistsException exception) {
-                ticket.setPrice(0);
-                cinemaTicketOffice.addTicketToStock(ticket);
-                sellTicket(title, time, screeningRoom, seat, cinemaTicketOffice);
+                // El código ya existe, se intenta con otro
             }
-            return code;
-        }
-        else {
-            throw new NotAvailableForSaleException("This seat is not available.");
         }
     }
 }
@@ -0,0 +1,70 @@
+package modeling;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Lista ordenada de números de película, usada por los índices de búsqueda.
+ * Los números se agregan en orden creciente, así que agregar es escribir al final del arreglo.
+ */
+class Postings implements Serializable {
+    private int[] ids = new int[4];
+    private int size;
+
+    /**
+     * Agrega un número al final de la lista, si no es el último agregado.
+     *
+     * @param id el número de película, mayor o igual que el último de la lista
+     */
+    void add(int id) {
+        if (size > 0 && ids[size - 1] == id) {
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    /**
+     * Quita un número de la lista.
+     *
+     * @param id el número de película
+     */
+    void remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Verifica si la lista contiene un número.
+     *
+     * @param id el número de película
+     * @return true si la lista lo contiene, false en caso contrario
+     */
+    boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /**
+     * Obtiene el número que ocupa una posición de la lista.
+     *
+     * @param position la posición, comenzando en 0
+     * @return el número de película
+     */
+    int get(int position) {
+        return ids[position];
+    }
+
+    /**
+     * Obtiene la cantidad de números de la lista.
+     *
+     * @return la cantidad de números
+     */
+    int size() {
+        return size;
+    }
+}
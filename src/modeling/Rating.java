@@ -0,0 +1,65 @@
+package modeling;
+
+import java.util.HashMap;
+
+/**
+ * La enumeración Rating representa las clasificaciones por edad que informa OMDb.
+ */
+public enum Rating {
+    G("G"),
+    PG("PG"),
+    PG_13("PG-13"),
+    R("R"),
+    NC_17("NC-17"),
+    X("X"),
+    M("M"),
+    GP("GP"),
+    APPROVED("Approved"),
+    PASSED("Passed"),
+    NOT_RATED("Not Rated"),
+    UNRATED("Unrated"),
+    TV_Y("TV-Y"),
+    TV_Y7("TV-Y7"),
+    TV_G("TV-G"),
+    TV_PG("TV-PG"),
+    TV_14("TV-14"),
+    TV_MA("TV-MA");
+
+    private static final HashMap<String, Rating> BY_LABEL = new HashMap<>();
+
+    static {
+        for (Rating rating : values()) {
+            BY_LABEL.put(rating.label, rating);
+        }
+    }
+
+    private final String label;
+
+    /**
+     * Crea una clasificación.
+     *
+     * @param label el texto de la clasificación, tal como lo informa OMDb
+     */
+    Rating(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Obtiene el texto de la clasificación.
+     *
+     * @return el texto de la clasificación, por ejemplo "PG-13"
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Busca la clasificación que corresponde a un texto.
+     *
+     * @param label el texto de la clasificación
+     * @return la clasificación, o null si el texto no corresponde a ninguna
+     */
+    public static Rating fromLabel(String label) {
+        return label == null ? null : BY_LABEL.get(label);
+    }
+}
@@ -0,0 +1,178 @@
+package modeling;
+
+import exceptions.ScheduleConflictException;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Línea de tiempo de ocupación de las salas de proyección.
+ * Cada sala guarda sus funciones como intervalos [inicio, inicio + duración) ordenados por inicio.
+ * Como las funciones de una sala nunca se superponen, los finales quedan ordenados igual que los inicios,
+ * y para saber si una función nueva choca con otra alcanza con mirar el intervalo que comienza inmediatamente
+ * antes de que la nueva termine: verificar un conflicto cuesta O(log n).
+ * Entre dos funciones de la misma sala se exige además un tiempo de limpieza configurable.
+ * Los intervalos pueden terminar después de la medianoche, pero no se consideran superpuestos con las
+ * funciones de la mañana.
+ */
+public class ScheduleTimeline implements Serializable {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int DEFAULT_CLEANING_GAP = 15;
+
+    private final EnumMap<ScreeningRoom, TreeMap<Integer, Block>> rooms; // Funciones de cada sala, por minuto de inicio
+    private int cleaningGap; // Minutos libres que se exigen entre dos funciones de la misma sala
+
+    /**
+     * Intervalo ocupado por una función.
+     */
+    private static class Block implements Serializable {
+        private final Showing showing;
+        private final int end; // Minuto en que termina la película, sin contar la limpieza
+
+        private Block(Showing showing, int end) {
+            this.showing = showing;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Crea una línea de tiempo vacía con el tiempo de limpieza predeterminado.
+     */
+    public ScheduleTimeline() {
+        rooms = new EnumMap<>(ScreeningRoom.class);
+        cleaningGap = DEFAULT_CLEANING_GAP;
+    }
+
+    /**
+     * Obtiene el tiempo de limpieza entre funciones de una misma sala.
+     *
+     * @return el tiempo de limpieza en minutos
+     */
+    public int getCleaningGap() {
+        return cleaningGap;
+    }
+
+    /**
+     * Establece el tiempo de limpieza entre funciones de una misma sala.
+     * Se aplica a las funciones que se agreguen a partir de ahora.
+     *
+     * @param cleaningGap el tiempo de limpieza en minutos
+     * @throws IllegalArgumentException si el tiempo es negativo
+     */
+    public void setCleaningGap(int cleaningGap) {
+        if (cleaningGap < 0) {
+            throw new IllegalArgumentException("Cleaning gap cannot be negative: " + cleaningGap);
+        }
+        this.cleaningGap = cleaningGap;
+    }
+
+    /**
+     * Busca una función de la sala que se superponga con una función nueva.
+     *
+     * @param screeningRoom  la sala de proyección
+     * @param start          el horario de inicio de la función nueva
+     * @param runtimeMinutes la duración de la película en minutos
+     * @return la función con la que se superpone, o null si no hay conflicto
+     */
+    public Showing findConflict(ScreeningRoom screeningRoom, Time start, int runtimeMinutes) {
+        TreeMap<Integer, Block> blocks = rooms.get(screeningRoom);
+        if (blocks == null) {
+            return null;
+        }
+        Block block = findConflict(blocks, start.toMinutes(), runtimeMinutes);
+        return (block == null) ? null : block.showing;
+    }
+
+    /**
+     * Agrega una función a la línea de tiempo de su sala.
+     *
+     * @param showing        la función
+     * @param runtimeMinutes la duración de la película en minutos
+     * @throws ScheduleConflictException si la función se superpone con otra función de la misma sala
+     */
+    public void add(Showing showing, int runtimeMinutes) throws ScheduleConflictException {
+        TreeMap<Integer, Block> blocks = rooms.computeIfAbsent(showing.getScreeningRoom(), room -> new TreeMap<>());
+        int start = showing.getTime().toMinutes();
+        Block conflict = findConflict(blocks, start, runtimeMinutes);
+        if (conflict != null) {
+            throw new ScheduleConflictException("Error: " + showing.getTitle() + " at " + showing.getTime()
+                    + " overlaps with " + conflict.showing.getTitle() + " at " + conflict.showing.getTime()
+                    + " in screen " + showing.getScreeningRoom().getId() + ".");
+        }
+        blocks.put(start, new Block(showing, start + occupiedMinutes(runtimeMinutes)));
+    }
+
+    /**
+     * Quita una función de la línea de tiempo de su sala.
+     *
+     * @param showing la función
+     * @return true si la función estaba en la línea de tiempo, false en caso contrario
+     */
+    public boolean remove(Showing showing) {
+        TreeMap<Integer, Block> blocks = rooms.get(showing.getScreeningRoom());
+        if (blocks == null) {
+            return false;
+        }
+        int start = showing.getTime().toMinutes();
+        Block block = blocks.get(start);
+        if (block == null || !block.showing.equals(showing)) {
+            return false;
+        }
+        blocks.remove(start);
+        return true;
+    }
+
+    /**
+     * Busca el primer horario, a partir de uno dado, en el que una película entra en la sala sin superponerse
+     * con otra función. Cada paso de la búsqueda salta por encima de una función ocupada.
+     *
+     * @param screeningRoom  la sala de proyección
+     * @param from           el horario desde el cual buscar
+     * @param runtimeMinutes la duración de la película en minutos
+     * @return el primer horario libre, o null si no hay lugar antes de la medianoche
+     */
+    public Time findFreeStart(ScreeningRoom screeningRoom, Time from, int runtimeMinutes) {
+        TreeMap<Integer, Block> blocks = rooms.get(screeningRoom);
+        int start = from.toMinutes();
+        if (blocks != null) {
+            Block conflict = findConflict(blocks, start, runtimeMinutes);
+            while (conflict != null && start < MINUTES_PER_DAY) {
+                start = conflict.end + cleaningGap;
+                conflict = findConflict(blocks, start, runtimeMinutes);
+            }
+        }
+        return (start < MINUTES_PER_DAY) ? Time.ofMinutes(start) : null;
+    }
+
+    /**
+     * Busca el intervalo de la sala que se superpone con [start, start + runtimeMinutes),
+     * teniendo en cuenta el tiempo de limpieza a ambos lados.
+     *
+     * @param blocks         los intervalos de la sala
+     * @param start          el minuto de inicio
+     * @param runtimeMinutes la duración en minutos
+     * @return el intervalo con el que se superpone, o null si no hay conflicto
+     */
+    private Block findConflict(TreeMap<Integer, Block> blocks, int start, int runtimeMinutes) {
+        // El último intervalo que comienza antes de que termine la función nueva (más la limpieza)
+        // es el que termina más tarde entre los candidatos
+        Map.Entry<Integer, Block> previous = blocks.lowerEntry(start + occupiedMinutes(runtimeMinutes) + cleaningGap);
+        if (previous != null && previous.getValue().end + cleaningGap > start) {
+            return previous.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene los minutos que ocupa una película en la sala. Una duración desconocida ocupa al menos un minuto,
+     * para que dos funciones no puedan comenzar a la misma hora en la misma sala.
+     *
+     * @param runtimeMinutes la duración de la película en minutos
+     * @return los minutos ocupados
+     */
+    private static int occupiedMinutes(int runtimeMinutes) {
+        return Math.max(runtimeMinutes, 1);
+    }
+}
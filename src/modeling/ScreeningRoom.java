@@ -1,6 +1,7 @@
 package modeling;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * La enumeración ScreeningRoom representa las salas de proyección disponibles.
@@ -22,6 +23,7 @@ public enum ScreeningRoom implements Serializable {
     private final String soundSystem;
     private final String screenType;
     private final boolean hasVipSeats;
+    private final List<String> seatLabels; // Etiqueta de cada asiento, precalculada por índice
 
     /**
      * Construye un objeto ScreeningRoom con el identificador, capacidad, número máximo de asientos por fila,
@@ -41,6 +43,23 @@ public enum ScreeningRoom implements Serializable {
         this.soundSystem = soundSystem;
         this.screenType = screenType;
         this.hasVipSeats = hasVipSeats;
+        this.seatLabels = createSeatLabels(capacity, maxSeatsPerRow);
+    }
+
+    /**
+     * Crea la tabla inmutable de etiquetas de los asientos de una sala.
+     *
+     * @param capacity       la capacidad de la sala
+     * @param maxSeatsPerRow el número máximo de asientos por fila
+     * @return la lista de etiquetas, donde la posición de cada etiqueta es el índice del asiento
+     */
+    private static List<String> createSeatLabels(int capacity, int maxSeatsPerRow) {
+        String[] labels = new String[capacity];
+        for (int i = 0; i < capacity; i++) {
+            char seatRow = (char) ('A' + i / maxSeatsPerRow);
+            labels[i] = seatRow + String.valueOf(i % maxSeatsPerRow + 1);
+        }
+        return List.of(labels);
     }
 
     /**
@@ -70,6 +89,121 @@ public enum ScreeningRoom implements Serializable {
         return maxSeatsPerRow;
     }
 
+    /**
+     * Devuelve la cantidad de filas de la sala de proyección.
+     *
+     * @return la cantidad de filas
+     */
+    public int getRows() {
+        return capacity / maxSeatsPerRow;
+    }
+
+    /**
+     * Devuelve la cantidad de asientos de cada costado de la fila, antes del pasillo.
+     *
+     * @return la cantidad de asientos de cada costado
+     */
+    public int getSideSeats() {
+        return (maxSeatsPerRow <= 6) ? 1 : 2;
+    }
+
+    /**
+     * Indica si hay un pasillo inmediatamente después de una posición de la fila.
+     * Cada fila tiene un pasillo después de los asientos del costado izquierdo y otro antes de los del costado derecho.
+     *
+     * @param seatInRow la posición del asiento dentro de la fila, comenzando en 0
+     * @return true si después del asiento hay un pasillo, false en caso contrario
+     */
+    public boolean isAisleAfter(int seatInRow) {
+        int sideSeats = getSideSeats();
+        return seatInRow == sideSeats - 1 || seatInRow == maxSeatsPerRow - sideSeats - 1;
+    }
+
+    /**
+     * Convierte la etiqueta de un asiento (por ejemplo "A10") en su índice dentro de la sala.
+     * Los índices se cuentan desde 0, de izquierda a derecha y desde la primera fila a la última.
+     * Acepta minúsculas y espacios alrededor o entre la fila y el número (por ejemplo " a 10 "),
+     * y no crea objetos al analizar la etiqueta.
+     *
+     * @param seat la etiqueta del asiento
+     * @return el índice del asiento, o -1 si la etiqueta no corresponde a un asiento de la sala
+     */
+    public int getSeatIndex(CharSequence seat) {
+        if (seat == null) {
+            return -1;
+        }
+        int length = seat.length();
+        int position = skipWhitespace(seat, 0);
+        if (position >= length) {
+            return -1;
+        }
+
+        int row = Character.toUpperCase(seat.charAt(position)) - 'A';
+        if (row < 0 || row >= getRows()) {
+            return -1;
+        }
+        position = skipWhitespace(seat, position + 1);
+
+        int seatNumber = 0;
+        int digits = 0;
+        while (position < length && seat.charAt(position) >= '0' && seat.charAt(position) <= '9') {
+            seatNumber = seatNumber * 10 + (seat.charAt(position) - '0');
+            if (seatNumber > maxSeatsPerRow) {
+                return -1;
+            }
+            digits++;
+            position++;
+        }
+        if (digits == 0 || seatNumber < 1 || skipWhitespace(seat, position) != length) {
+            return -1;
+        }
+        return row * maxSeatsPerRow + (seatNumber - 1);
+    }
+
+    /**
+     * Avanza sobre los espacios en blanco de una cadena.
+     *
+     * @param text     la cadena
+     * @param position la posición inicial
+     * @return la primera posición que no es un espacio en blanco, o el largo de la cadena
+     */
+    private static int skipWhitespace(CharSequence text, int position) {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Convierte el índice de un asiento en su etiqueta (por ejemplo "A10").
+     *
+     * @param seatIndex el índice del asiento
+     * @return la etiqueta del asiento
+     */
+    public String getSeatLabel(int seatIndex) {
+        return seatLabels.get(seatIndex);
+    }
+
+    /**
+     * Devuelve la etiqueta normalizada de un asiento, por ejemplo " a 10" se convierte en "A10".
+     *
+     * @param seat la etiqueta del asiento
+     * @return la etiqueta normalizada, o null si no corresponde a un asiento de la sala
+     */
+    public String normalizeSeat(CharSequence seat) {
+        int seatIndex = getSeatIndex(seat);
+        return (seatIndex < 0) ? null : getSeatLabel(seatIndex);
+    }
+
+    /**
+     * Devuelve la tabla inmutable de etiquetas de los asientos de la sala.
+     *
+     * @return la lista de etiquetas, donde la posición de cada etiqueta es el índice del asiento
+     */
+    public List<String> getSeatLabels() {
+        return seatLabels;
+    }
+
     /**
      * Devuelve el sistema de sonido de la sala de proyección.
      *
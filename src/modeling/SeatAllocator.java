@@ -0,0 +1,59 @@
+package modeling;
+
+import interfaces.ISeatScorer;
+
+/**
+ * La clase SeatAllocator busca los mejores bloques de asientos contiguos libres de una función.
+ * Trabaja directamente sobre la máscara de ocupación de cada fila del SeatMap: los bloques de
+ * N asientos libres se encuentran con operaciones de bits, sin recorrer las etiquetas de los asientos.
+ */
+public class SeatAllocator {
+
+    /**
+     * Busca el mejor bloque de asientos contiguos libres dentro de una misma fila.
+     *
+     * @param seatMap el mapa de asientos de la función
+     * @param count   la cantidad de asientos buscados
+     * @param scorer  el criterio con el que se puntúan los bloques
+     * @return los índices de los asientos del mejor bloque, o un arreglo vacío si no hay ningún bloque libre
+     */
+    public static int[] findBestSeats(SeatMap seatMap, int count, ISeatScorer scorer) {
+        ScreeningRoom screeningRoom = seatMap.getScreeningRoom();
+        int maxSeatsPerRow = screeningRoom.getMaxSeatsPerRow();
+        if (count < 1 || count > maxSeatsPerRow) {
+            return new int[0];
+        }
+        long fullRow = -1L >>> (64 - maxSeatsPerRow);
+        int bestRow = -1;
+        int bestSeat = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+
+        for (int row = 0; row < screeningRoom.getRows(); row++) {
+            long free = ~seatMap.getRowMask(row) & fullRow;
+            // Un bit queda encendido solo si los count asientos que empiezan en esa posición están libres
+            long starts = free;
+            for (int i = 1; i < count && starts != 0; i++) {
+                starts &= free >>> i;
+            }
+            while (starts != 0) {
+                int seat = Long.numberOfTrailingZeros(starts);
+                double score = scorer.score(screeningRoom, row, seat, count);
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestRow = row;
+                    bestSeat = seat;
+                }
+                starts &= starts - 1;
+            }
+        }
+
+        if (bestRow < 0) {
+            return new int[0];
+        }
+        int[] seatIndexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            seatIndexes[i] = bestRow * maxSeatsPerRow + bestSeat + i;
+        }
+        return seatIndexes;
+    }
+}
@@ -0,0 +1,41 @@
+package modeling;
+
+/**
+ * La enumeración SeatClaim representa el resultado de intentar reclamar un asiento de una función.
+ * Permite informar por qué falló el reclamo sin necesidad de lanzar una excepción.
+ */
+public enum SeatClaim {
+    CLAIMED("The seat has been claimed."),
+    TAKEN("This seat is not available."),
+    INVALID_SEAT("This seat doesn't exist in the screening room."),
+    SHOWING_NOT_FOUND("This showing doesn't have tickets for sale.");
+
+    private final String message;
+
+    /**
+     * Construye un resultado con el mensaje especificado.
+     *
+     * @param message el mensaje que describe el resultado
+     */
+    SeatClaim(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Devuelve el mensaje que describe el resultado.
+     *
+     * @return el mensaje del resultado
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Indica si el asiento fue reclamado con éxito.
+     *
+     * @return true si el asiento fue reclamado, false en caso contrario
+     */
+    public boolean isClaimed() {
+        return this == CLAIMED;
+    }
+}
@@ -0,0 +1,110 @@
+package modeling;
+
+import java.io.Serializable;
+import java.util.LinkedList;
+
+/**
+ * La clase SeatHold representa una retención temporal de asientos de una función mientras se completa un pago.
+ * Los asientos quedan ocupados hasta que la retención se confirma, se libera o vence.
+ */
+public class SeatHold implements Serializable {
+    private final String code;
+    private final Showing showing;
+    private final ScreeningRoom screeningRoom;
+    private final SeatMap seatMap;
+    private final int[] seatIndexes;
+    private final long expiresAt;
+    private boolean active;
+
+    /**
+     * Crea una retención activa de asientos.
+     *
+     * @param code          el código de la retención
+     * @param seatMap       el mapa de asientos de la función, en el que se ocuparon los asientos
+     * @param seatIndexes   los índices de los asientos retenidos
+     * @param expiresAt     el instante de vencimiento en milisegundos
+     */
+    public SeatHold(String code, SeatMap seatMap, int[] seatIndexes, long expiresAt) {
+        this.code = code;
+        this.showing = seatMap.getShowing();
+        this.screeningRoom = showing.getScreeningRoom();
+        this.seatMap = seatMap;
+        this.seatIndexes = seatIndexes.clone();
+        this.expiresAt = expiresAt;
+        this.active = true;
+    }
+
+    /**
+     * Obtiene el código de la retención.
+     *
+     * @return el código de la retención
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Obtiene la función de los asientos retenidos.
+     *
+     * @return la función
+     */
+    public Showing getShowing() {
+        return showing;
+    }
+
+    /**
+     * Obtiene la sala de proyección.
+     *
+     * @return la sala de proyección
+     */
+    public ScreeningRoom getScreeningRoom() {
+        return screeningRoom;
+    }
+
+    /**
+     * Obtiene las etiquetas de los asientos retenidos.
+     *
+     * @return los asientos retenidos
+     */
+    public LinkedList<String> getSeats() {
+        LinkedList<String> seats = new LinkedList<>();
+        for (int seatIndex : seatIndexes) {
+            seats.add(screeningRoom.getSeatLabel(seatIndex));
+        }
+        return seats;
+    }
+
+    /**
+     * Libera en el mapa de asientos de la función todos los asientos retenidos.
+     */
+    public void releaseSeats() {
+        for (int seatIndex : seatIndexes) {
+            seatMap.release(seatIndex);
+        }
+    }
+
+    /**
+     * Obtiene el instante de vencimiento de la retención.
+     *
+     * @return el instante de vencimiento en milisegundos
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Indica si la retención sigue activa, es decir, si no fue confirmada, liberada ni venció.
+     *
+     * @return true si la retención está activa, false en caso contrario
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Marca la retención como finalizada.
+     */
+    public void close() {
+        active = false;
+    }
+}
@@ -0,0 +1,240 @@
+package modeling;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * La clase SeatMap representa el estado de los asientos de una función (película, horario y sala).
+ * Cada fila de la sala se guarda en una palabra de 64 bits, donde un bit encendido indica que el
+ * asiento está ocupado. De esta forma no hace falta crear un MovieTicket por cada asiento libre:
+ * la entrada se crea recién al momento de la venta.
+ * La cantidad de asientos libres se obtiene contando los bits de las filas, por lo que nunca difiere
+ * del estado de los asientos.
+ * Los asientos se reclaman sin bloqueos mediante compare-and-set sobre la palabra de su fila:
+ * vendedores que compiten por asientos distintos nunca se bloquean entre sí, y cuando varios
+ * compiten por el mismo asiento exactamente uno lo obtiene.
+ * Las palabras de las filas se crean recién con la primera venta: hasta entonces todos los asientos
+ * se consideran libres, de modo que las funciones sin ventas casi no ocupan memoria.
+ */
+public class SeatMap implements Serializable {
+    private final Showing showing;
+    private final ScreeningRoom screeningRoom;
+    private final int generation; // Generación del inventario en la que se creó el mapa
+    private volatile AtomicLongArray rows; // Un bit por asiento ocupado, una palabra por fila; null si no hubo ventas
+
+    /**
+     * Crea el mapa de asientos de una función con todos los asientos libres.
+     *
+     * @param showing    la función
+     * @param generation la generación del inventario en la que se crea el mapa
+     */
+    public SeatMap(Showing showing, int generation) {
+        this.showing = showing;
+        this.screeningRoom = showing.getScreeningRoom();
+        this.generation = generation;
+        this.rows = null;
+    }
+
+    /**
+     * Obtiene la función a la que pertenece el mapa.
+     *
+     * @return la función
+     */
+    public Showing getShowing() {
+        return showing;
+    }
+
+    /**
+     * Obtiene el título de la película de la función.
+     *
+     * @return el título de la película
+     */
+    public String getTitle() {
+        return showing.getTitle();
+    }
+
+    /**
+     * Obtiene el horario de la función.
+     *
+     * @return el horario de la función
+     */
+    public Time getTime() {
+        return showing.getTime();
+    }
+
+    /**
+     * Obtiene la generación del inventario en la que se creó el mapa.
+     *
+     * @return la generación del inventario
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Obtiene la sala de proyección de la función.
+     *
+     * @return la sala de proyección
+     */
+    public ScreeningRoom getScreeningRoom() {
+        return screeningRoom;
+    }
+
+    /**
+     * Verifica si un asiento está libre.
+     *
+     * @param seatIndex el índice del asiento
+     * @return true si el asiento existe y está libre, false en caso contrario
+     */
+    public boolean isAvailable(int seatIndex) {
+        if (!isValidSeat(seatIndex)) {
+            return false;
+        }
+        AtomicLongArray current = rows;
+        return current == null || (current.get(rowOf(seatIndex)) & maskOf(seatIndex)) == 0;
+    }
+
+    /**
+     * Obtiene la máscara de ocupación de una fila, donde cada bit encendido indica un asiento ocupado.
+     * El bit 0 corresponde al primer asiento de la fila.
+     *
+     * @param row el número de fila, comenzando en 0
+     * @return la máscara de ocupación de la fila
+     */
+    public long getRowMask(int row) {
+        AtomicLongArray current = rows;
+        return (current == null) ? 0L : current.get(row);
+    }
+
+    /**
+     * Marca un asiento como ocupado. Si varios hilos intentan ocupar el mismo asiento
+     * al mismo tiempo, solo uno de ellos lo consigue.
+     *
+     * @param seatIndex el índice del asiento
+     * @return true si el asiento estaba libre y pasó a estar ocupado, false en caso contrario
+     */
+    public boolean occupy(int seatIndex) {
+        if (!isValidSeat(seatIndex)) {
+            return false;
+        }
+        AtomicLongArray words = getOrCreateRows();
+        int row = rowOf(seatIndex);
+        long mask = maskOf(seatIndex);
+        long current;
+        do {
+            current = words.get(row);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(row, current, current | mask));
+        return true;
+    }
+
+    /**
+     * Marca un grupo de asientos como ocupados de manera atómica: o se ocupan todos, o ninguno.
+     * Si algún asiento no está disponible, se liberan los que ya se habían ocupado.
+     *
+     * @param seatIndexes los índices de los asientos
+     * @return true si se ocuparon todos los asientos, false en caso contrario
+     */
+    public boolean occupyAll(int[] seatIndexes) {
+        for (int i = 0; i < seatIndexes.length; i++) {
+            if (!occupy(seatIndexes[i])) {
+                for (int j = 0; j < i; j++) {
+                    release(seatIndexes[j]);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Libera un asiento ocupado.
+     *
+     * @param seatIndex el índice del asiento
+     * @return true si el asiento estaba ocupado y pasó a estar libre, false en caso contrario
+     */
+    public boolean release(int seatIndex) {
+        AtomicLongArray words = rows;
+        if (words == null || !isValidSeat(seatIndex)) {
+            return false;
+        }
+        int row = rowOf(seatIndex);
+        long mask = maskOf(seatIndex);
+        long current;
+        do {
+            current = words.get(row);
+            if ((current & mask) == 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(row, current, current & ~mask));
+        return true;
+    }
+
+    /**
+     * Obtiene la cantidad de asientos libres de la función, contando los asientos ocupados de cada fila.
+     * Como la cuenta sale de las mismas palabras que se reclaman, coincide con el estado de cada fila al leerla.
+     *
+     * @return la cantidad de asientos libres
+     */
+    public int getAvailableSeats() {
+        AtomicLongArray current = rows;
+        int availableSeats = screeningRoom.getCapacity();
+        if (current != null) {
+            for (int row = 0; row < current.length(); row++) {
+                availableSeats -= Long.bitCount(current.get(row));
+            }
+        }
+        return availableSeats;
+    }
+
+    /**
+     * Obtiene las palabras de las filas, creándolas en la primera venta.
+     *
+     * @return las palabras de las filas
+     */
+    private AtomicLongArray getOrCreateRows() {
+        AtomicLongArray current = rows;
+        if (current == null) {
+            synchronized (this) {
+                current = rows;
+                if (current == null) {
+                    current = new AtomicLongArray(screeningRoom.getRows());
+                    rows = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Verifica si el índice corresponde a un asiento de la sala.
+     *
+     * @param seatIndex el índice del asiento
+     * @return true si el índice es válido, false en caso contrario
+     */
+    private boolean isValidSeat(int seatIndex) {
+        return seatIndex >= 0 && seatIndex < screeningRoom.getCapacity();
+    }
+
+    /**
+     * Obtiene la fila en la que se encuentra un asiento.
+     *
+     * @param seatIndex el índice del asiento
+     * @return el número de fila, comenzando en 0
+     */
+    private int rowOf(int seatIndex) {
+        return seatIndex / screeningRoom.getMaxSeatsPerRow();
+    }
+
+    /**
+     * Obtiene la máscara de bits de un asiento dentro de su fila.
+     *
+     * @param seatIndex el índice del asiento
+     * @return la máscara con un único bit encendido
+     */
+    private long maskOf(int seatIndex) {
+        return 1L << (seatIndex % screeningRoom.getMaxSeatsPerRow());
+    }
+}
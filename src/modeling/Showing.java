@@ -0,0 +1,117 @@
+package modeling;
+
+import java.io.Serializable;
+
+/**
+ * La clase Showing representa una función: una película proyectada en una sala a un horario determinado.
+ * Las funciones se ordenan por horario, luego por sala y por último por título.
+ */
+public class Showing implements Comparable<Showing>, Serializable {
+    private final String title;
+    private final Time time;
+    private final ScreeningRoom screeningRoom;
+
+    /**
+     * Crea una función.
+     *
+     * @param title         el título de la película
+     * @param time          el horario de inicio de la función
+     * @param screeningRoom la sala de proyección de la función
+     */
+    public Showing(String title, Time time, ScreeningRoom screeningRoom) {
+        this.title = title;
+        this.time = time;
+        this.screeningRoom = screeningRoom;
+    }
+
+    /**
+     * Crea una función que se ordena antes que cualquier otra función del mismo horario.
+     * Se usa como límite en las búsquedas por rango de horarios.
+     *
+     * @param time el horario
+     * @return una función de referencia para ese horario
+     */
+    static Showing lowerBound(Time time) {
+        return new Showing("", time, ScreeningRoom.values()[0]);
+    }
+
+    /**
+     * Obtiene el título de la película de la función.
+     *
+     * @return el título de la película
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Obtiene el horario de inicio de la función.
+     *
+     * @return el horario de inicio
+     */
+    public Time getTime() {
+        return time;
+    }
+
+    /**
+     * Obtiene la sala de proyección de la función.
+     *
+     * @return la sala de proyección
+     */
+    public ScreeningRoom getScreeningRoom() {
+        return screeningRoom;
+    }
+
+    /**
+     * Compara esta función con otra por horario, sala y título.
+     *
+     * @param other la función a comparar
+     * @return un entero negativo, cero o positivo si esta función va antes, en el mismo lugar o después que la otra
+     */
+    @Override
+    public int compareTo(Showing other) {
+        int result = time.compareTo(other.time);
+        if (result == 0) {
+            result = screeningRoom.compareTo(other.screeningRoom);
+        }
+        if (result == 0) {
+            result = title.compareTo(other.title);
+        }
+        return result;
+    }
+
+    /**
+     * Indica si otro objeto representa la misma función.
+     *
+     * @param other el objeto a comparar
+     * @return true si el otro objeto es una función con el mismo título, horario y sala
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Showing)) {
+            return false;
+        }
+        Showing showing = (Showing) other;
+        return time.equals(showing.time) && screeningRoom == showing.screeningRoom && title.equals(showing.title);
+    }
+
+    /**
+     * Devuelve el código hash de la función.
+     *
+     * @return el código hash
+     */
+    @Override
+    public int hashCode() {
+        return (title.hashCode() * 31 + time.hashCode()) * 31 + screeningRoom.hashCode();
+    }
+
+    /**
+     * Devuelve una representación en cadena de la función.
+     *
+     * @return el horario, el título y la sala de la función
+     */
+    @Override
+    public String toString() {
+        return time + " - " + title + " (Screen " + screeningRoom.getId() + ")";
+    }
+}
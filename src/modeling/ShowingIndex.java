@@ -0,0 +1,190 @@
+package modeling;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Índice ordenado de las funciones de una película, en todas sus salas.
+ * Cada función se identifica por su horario y su sala, que se combinan en una única posición
+ * (minuto del día por cantidad de salas, más el número de sala). El índice guarda esas posiciones
+ * en un arreglo ordenado del tamaño de las funciones existentes: obtener la k-ésima función cuesta O(1),
+ * buscar una función cuesta O(log n), y agregar o quitar una desplaza a lo sumo las n funciones de la película,
+ * que son pocas.
+ * Las funciones quedan ordenadas por horario y, dentro de un mismo horario, por sala.
+ * Para mostrar las funciones se mantiene una vista inmutable que se recalcula solo después de un cambio.
+ */
+public class ShowingIndex implements Iterable<Showing>, Serializable {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int[] EMPTY = new int[0];
+    private static final ScreeningRoom[] ROOMS = ScreeningRoom.values();
+
+    private final String title;
+    private int[] positions; // Posiciones de las funciones en orden creciente; solo las primeras size son válidas
+    private int size;
+    private transient List<Showing> view; // Vista ordenada de las funciones; null si hay que recalcularla
+
+    /**
+     * Crea un índice sin funciones para una película.
+     *
+     * @param title el título de la película
+     */
+    public ShowingIndex(String title) {
+        this.title = title;
+        positions = EMPTY;
+        size = 0;
+        view = null;
+    }
+
+    /**
+     * Obtiene la cantidad de funciones del índice.
+     *
+     * @return la cantidad de funciones
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Verifica si el índice no tiene funciones.
+     *
+     * @return true si no hay funciones, false en caso contrario
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Verifica si el índice contiene una función.
+     *
+     * @param time          el horario de la función
+     * @param screeningRoom la sala de la función
+     * @return true si la función está en el índice, false en caso contrario
+     */
+    public boolean contains(Time time, ScreeningRoom screeningRoom) {
+        return indexOf(positionOf(time, screeningRoom)) >= 0;
+    }
+
+    /**
+     * Agrega una función al índice.
+     *
+     * @param time          el horario de la función
+     * @param screeningRoom la sala de la función
+     * @return true si se agregó, false si ya estaba en el índice
+     */
+    public boolean add(Time time, ScreeningRoom screeningRoom) {
+        int position = positionOf(time, screeningRoom);
+        int index = indexOf(position);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        System.arraycopy(positions, index, positions, index + 1, size - index);
+        positions[index] = position;
+        size++;
+        view = null;
+        return true;
+    }
+
+    /**
+     * Quita una función del índice.
+     *
+     * @param time          el horario de la función
+     * @param screeningRoom la sala de la función
+     * @return true si se quitó, false si no estaba en el índice
+     */
+    public boolean remove(Time time, ScreeningRoom screeningRoom) {
+        int index = indexOf(positionOf(time, screeningRoom));
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(positions, index + 1, positions, index, size - index - 1);
+        size--;
+        view = null;
+        return true;
+    }
+
+    /**
+     * Obtiene la función que ocupa una posición, en orden cronológico.
+     *
+     * @param index la posición de la función, comenzando en 0
+     * @return la función en esa posición
+     * @throws IndexOutOfBoundsException si la posición no existe
+     */
+    public Showing get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        List<Showing> current = view;
+        if (current != null) {
+            return current.get(index);
+        }
+        return showingAt(positions[index]);
+    }
+
+    /**
+     * Obtiene una vista inmutable de las funciones en orden cronológico.
+     * La vista se reutiliza mientras el índice no cambie.
+     *
+     * @return la lista ordenada de las funciones
+     */
+    public List<Showing> asList() {
+        List<Showing> current = view;
+        if (current == null) {
+            ArrayList<Showing> showings = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                showings.add(showingAt(positions[i]));
+            }
+            current = Collections.unmodifiableList(showings);
+            view = current;
+        }
+        return current;
+    }
+
+    /**
+     * Devuelve un iterador que recorre las funciones en orden cronológico.
+     *
+     * @return un iterador de las funciones
+     */
+    @Override
+    public Iterator<Showing> iterator() {
+        return asList().iterator();
+    }
+
+    /**
+     * Busca una posición en el arreglo ordenado.
+     *
+     * @param position la posición de la función
+     * @return el índice de la posición en el arreglo, o (-(punto de inserción) - 1) si no está
+     */
+    private int indexOf(int position) {
+        return Arrays.binarySearch(positions, 0, size, position);
+    }
+
+    /**
+     * Obtiene la posición de una función.
+     *
+     * @param time          el horario de la función
+     * @param screeningRoom la sala de la función
+     * @return la posición
+     */
+    private static int positionOf(Time time, ScreeningRoom screeningRoom) {
+        return time.toMinutes() * ROOMS.length + screeningRoom.ordinal();
+    }
+
+    /**
+     * Crea la función que corresponde a una posición.
+     *
+     * @param position la posición
+     * @return la función
+     */
+    private Showing showingAt(int position) {
+        return new Showing(title, Time.ofMinutes(position / ROOMS.length), ROOMS[position % ROOMS.length]);
+    }
+}
@@ -2,10 +2,22 @@ package modeling;
 
 import exceptions.*;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 /**
  * La clase Showtimes representa una cartelera de películas en un cine.
  * Permite agregar y eliminar películas, asignar y eliminar salas de proyección,
@@ -16,9 +28,14 @@ import java.util.TreeSet;
  */
 public class Showtimes implements Serializable {
     private final HashMap<String, Movie> movies;
-    private final HashMap<String, TreeSet<Time>> startTimes;
-    private final HashMap<String, ScreeningRoom> screeningRooms;
-    private final LinkedList<String> titles;
+    private final HashMap<String, ShowingIndex> startTimes; // Funciones de cada película en todas sus salas
+    private final HashMap<String, EnumSet<ScreeningRoom>> screeningRooms; // Salas asignadas a cada película
+    private final TitleCatalog titles;
+    private final TreeSet<Showing> showings; // Todas las funciones del cine, ordenadas por horario y sala
+    private final ScheduleTimeline timeline; // Ocupación de cada sala a lo largo del día
+    private final MovieIndex movieIndex; // Índice de películas por género, director, actores e idioma
+    private final AutocompleteIndex autocomplete; // Sugerencias de títulos, actores y directores
+    private final FullTextIndex fullTextIndex; // Índice de texto completo de títulos y argumentos
     /**
      * Crea una instancia de Showtimes.
      * Inicializa los mapas de películas, horarios de inicio y salas de proyección,
@@ -28,7 +45,12 @@ public class Showtimes implements Serializable {
         movies = new HashMap<>();
         startTimes = new HashMap<>();
         screeningRooms = new HashMap<>();
-        titles = new LinkedList<>();
+        titles = new TitleCatalog();
+        showings = new TreeSet<>();
+        timeline = new ScheduleTimeline();
+        movieIndex = new MovieIndex();
+        autocomplete = new AutocompleteIndex();
+        fullTextIndex = new FullTextIndex();
     }
 
     /**
@@ -45,7 +67,7 @@ public class Showtimes implements Serializable {
      *
      * @return El mapa de horarios de inicio.
      */
-    private HashMap<String, TreeSet<Time>> getStartTimes() {
+    private HashMap<String, ShowingIndex> getStartTimes() {
         return startTimes;
     }
 
@@ -54,19 +76,160 @@ public class Showtimes implements Serializable {
      *
      * @return El mapa de salas de proyección.
      */
-    private HashMap<String, ScreeningRoom> getScreeningRooms() {
+    private HashMap<String, EnumSet<ScreeningRoom>> getScreeningRooms() {
         return screeningRooms;
     }
 
     /**
-     * Obtiene la lista de títulos de películas.
+     * Obtiene el catálogo de títulos de películas.
      *
-     * @return La lista de títulos de películas.
+     * @return El catálogo de títulos de películas.
      */
-    private LinkedList<String> getTitles() {
+    private TitleCatalog getTitles() {
         return titles;
     }
 
+    /**
+     * Obtiene el índice de funciones ordenado por horario.
+     *
+     * @return El conjunto ordenado de funciones.
+     */
+    private TreeSet<Showing> getShowings() {
+        return showings;
+    }
+
+    /**
+     * Obtiene la línea de tiempo de ocupación de las salas.
+     *
+     * @return La línea de tiempo de las salas.
+     */
+    private ScheduleTimeline getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * Obtiene el índice de películas por género, director, actores e idioma.
+     *
+     * @return El índice de películas.
+     */
+    private MovieIndex getMovieIndex() {
+        return movieIndex;
+    }
+
+    /**
+     * Obtiene el índice de autocompletado de títulos, actores y directores.
+     *
+     * @return El índice de autocompletado.
+     */
+    private AutocompleteIndex getAutocomplete() {
+        return autocomplete;
+    }
+
+    /**
+     * Obtiene el índice de texto completo de títulos y argumentos.
+     *
+     * @return El índice de texto completo.
+     */
+    private FullTextIndex getFullTextIndex() {
+        return fullTextIndex;
+    }
+
+    /**
+     * Busca las películas de la cartelera cuyo título o argumento se parecen al texto buscado,
+     * tolerando errores de tipeo.
+     *
+     * @param query El texto buscado.
+     * @param limit La cantidad máxima de resultados.
+     * @return Los títulos de las películas encontradas, de la más parecida a la menos parecida.
+     */
+    public LinkedList<String> searchText(String query, int limit) {
+        return getFullTextIndex().search(query, limit);
+    }
+
+    /**
+     * Sugiere títulos de la cartelera que completan el texto escrito.
+     * Se compara el comienzo de cualquier palabra del título, sin distinguir mayúsculas ni acentos.
+     *
+     * @param prefix El texto escrito hasta el momento.
+     * @param limit  La cantidad máxima de sugerencias.
+     * @return Los títulos sugeridos, en orden alfabético.
+     */
+    public LinkedList<String> completeTitle(String prefix, int limit) {
+        return getAutocomplete().complete(prefix, AutocompleteIndex.Kind.TITLE, limit);
+    }
+
+    /**
+     * Sugiere nombres de actores y directores de la cartelera que completan el texto escrito.
+     *
+     * @param prefix El texto escrito hasta el momento.
+     * @param limit  La cantidad máxima de sugerencias.
+     * @return Los nombres sugeridos, en orden alfabético.
+     */
+    public LinkedList<String> completePerson(String prefix, int limit) {
+        return getAutocomplete().complete(prefix, AutocompleteIndex.Kind.PERSON, limit);
+    }
+
+    /**
+     * Obtiene el índice de una película por su título.
+     *
+     * @param title El título de la película.
+     * @return El índice de la película, comenzando en 1.
+     * @throws NotFoundException Si la película no está en la cartelera.
+     */
+    public int getIndexByTitle(String title) throws NotFoundException {
+        int position = getTitles().indexOf(title);
+        if (position < 0) {
+            throw new NotFoundException("Error: Movie not found: " + title);
+        }
+        return position + 1;
+    }
+
+    /**
+     * Busca las películas de la cartelera que cumplen todos los criterios indicados,
+     * por ejemplo género "Animation" e idioma "Spanish".
+     *
+     * @param criteria Los valores buscados en cada campo; cada valor puede contener varios términos separados por comas.
+     * @return Los títulos de las películas encontradas, en el orden de la cartelera.
+     */
+    public LinkedList<String> searchMovies(Map<MovieField, String> criteria) {
+        return getMovieIndex().search(criteria);
+    }
+
+    /**
+     * Obtiene el tiempo de limpieza que se exige entre dos funciones de una misma sala.
+     *
+     * @return El tiempo de limpieza en minutos.
+     */
+    public int getCleaningGap() {
+        return getTimeline().getCleaningGap();
+    }
+
+    /**
+     * Establece el tiempo de limpieza que se exige entre dos funciones de una misma sala.
+     * Se aplica a los horarios que se agreguen a partir de ahora.
+     *
+     * @param minutes El tiempo de limpieza en minutos.
+     * @throws IllegalArgumentException Si el tiempo es negativo.
+     */
+    public void setCleaningGap(int minutes) {
+        getTimeline().setCleaningGap(minutes);
+    }
+
+    /**
+     * Busca el primer horario, a partir de uno dado, en el que una película entra en una sala
+     * sin superponerse con otra función.
+     *
+     * @param index         El índice de la película.
+     * @param screeningRoom La sala de proyección.
+     * @param from          El horario desde el cual buscar.
+     * @return El primer horario libre, o null si no hay lugar antes de la medianoche.
+     * @throws InvalidIndexException Si el índice de la película es inválido.
+     */
+    public Time findFreeStart(int index, ScreeningRoom screeningRoom, Time from) throws InvalidIndexException {
+        String title = getTitleByIndex(index);
+        return getTimeline().findFreeStart(screeningRoom, from, getMovies().get(title).getRuntimeMinutes());
+    }
+
     /**
      * Agrega una película al sistema de horarios.
      *
@@ -77,41 +240,127 @@ public class Showtimes implements Serializable {
      * @throws MovieSearchFailedException Si falla la búsqueda de la película en la base de datos externa.
      */
     public void addMovie(String title) throws AlreadyExistsException, NotFoundException, EmptyTitleException, MovieSearchFailedException {
-        Movie movie = IMDb.searchMovie(title);
-        if (movie != null) {
-            title = movie.getTitle();
-            // Verificar si la película ya existe en el mapa de películas
+        registerMovie(IMDb.searchMovie(title));
+    }
+
+    /**
+     * Agrega varias películas al sistema de horarios, buscándolas en paralelo en la base de datos externa.
+     * Las películas encontradas se agregan todas juntas, en el orden de la lista, una vez terminadas las búsquedas.
+     *
+     * @param titles Los títulos de las películas a agregar.
+     * @return El resultado de cada título, en el orden de la lista: la película agregada o el motivo del error.
+     */
+    public LinkedHashMap<String, String> addMovies(List<String> titles) {
+        LinkedHashMap<String, CompletableFuture<Movie>> searches = new LinkedHashMap<>();
+        for (String title : titles) {
+            searches.computeIfAbsent(title, IMDb::searchMovieAsync);
+        }
+        CompletableFuture.allOf(searches.values().toArray(CompletableFuture<?>[]::new))
+                .exceptionally(error -> null)
+                .join();
+
+        LinkedHashMap<String, String> report = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<Movie>> search : searches.entrySet()) {
+            try {
+                Movie movie = search.getValue().join();
+                registerMovie(movie);
+                report.put(search.getKey(), "Added: " + movie.getTitle());
+            } catch (AlreadyExistsException exception) {
+                report.put(search.getKey(), exception.getMessage());
+            } catch (CompletionException exception) {
+                Throwable cause = exception.getCause() != null ? exception.getCause() : exception;
+                if (cause instanceof NotFoundException || cause instanceof EmptyTitleException
+                        || cause instanceof MovieSearchFailedException) {
+                    report.put(search.getKey(), cause.getMessage());
+                } else {
+                    report.put(search.getKey(), "Error: Could not reach the movie database - " + cause.getMessage());
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Agrega las películas de un archivo local con una respuesta de OMDb por línea, sin consultar la API.
+     * Las películas repetidas se descartan. Las películas se agregan por partes del archivo.
+     *
+     * @param path La ruta del archivo.
+     * @return Un resumen de la carga: películas agregadas, descartadas e inválidas.
+     * @throws IOException Si no se pudo leer el archivo.
+     */
+    public String loadCatalog(String path) throws IOException {
+        CatalogLoader loader = new CatalogLoader(Path.of(path));
+        loader.load(this::registerMovies);
+        return loader.toString();
+    }
+
+    /**
+     * Agrega al sistema de horarios un grupo de películas ya obtenidas de la base de datos externa.
+     * Se omiten las películas que ya existen en el sistema o que se repiten en el grupo. Los nombres
+     * repetidos dentro del grupo se agregan al índice de autocompletado una sola vez.
+     *
+     * @param movies Las películas a agregar.
+     * @return Las películas agregadas, en el mismo orden en que se recibieron.
+     */
+    private List<Movie> registerMovies(List<Movie> movies) {
+        ArrayList<Movie> added = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            String title = movie.getTitle();
             if (!getMovies().containsKey(title)) {
                 getMovies().put(title, movie);
-                getStartTimes().put(title, new TreeSet<>());
-                getTitles().addFirst(title);
-            } else {
-                throw new AlreadyExistsException("Error: Esta película ya existe: " + title);
+                getMovieIndex().add(movie);
+                getFullTextIndex().add(movie);
+                getStartTimes().put(title, new ShowingIndex(title));
+                getTitles().add(title);
+                added.add(movie);
             }
-        } else {
-            throw new MovieSearchFailedException("Error: No se pudo agregar la película.");
+        }
+        getAutocomplete().addAll(added);
+        return added;
+    }
+
+    /**
+     * Agrega al sistema de horarios una película ya obtenida de la base de datos externa.
+     * Se registra con registerMovies, de modo que una película suelta y las de un grupo quedan en los mismos índices.
+     *
+     * @param movie La película a agregar.
+     * @throws AlreadyExistsException Si la película ya existe en el sistema.
+     */
+    private void registerMovie(Movie movie) throws AlreadyExistsException {
+        if (registerMovies(List.of(movie)).isEmpty()) {
+            throw new AlreadyExistsException("Error: Esta película ya existe: " + movie.getTitle());
         }
     }
 
     /**
-     * Agrega un horario de proyección para una película en particular.
+     * Agrega una función de una película en una de sus salas.
      *
      * @param index               El índice de la película.
+     * @param screeningRoom       La sala de proyección de la función.
      * @param hour                La hora del horario de proyección.
      * @param minute              El minuto del horario de proyección.
      * @param cinemaTicketOffice  La taquilla del cine.
-     * @throws NotFoundException     Si no se encuentra la película en el sistema.
-     * @throws AlreadyExistsException Si el horario de proyección ya existe para la película.
+     * @throws NotFoundException     Si no se encuentra la película en el sistema o la sala no está asignada a la película.
+     * @throws AlreadyExistsException Si la función ya existe.
      * @throws InvalidIndexException  Si el índice de la película es inválido.
+     * @throws ScheduleConflictException Si la función se superpone con otra función de la misma sala.
      */
-    public void addTime(int index, int hour, int minute, CinemaTicketOffice cinemaTicketOffice) throws NotFoundException, AlreadyExistsException, InvalidIndexException {
+    public void addTime(int index, ScreeningRoom screeningRoom, int hour, int minute, CinemaTicketOffice cinemaTicketOffice) throws NotFoundException, AlreadyExistsException, InvalidIndexException, ScheduleConflictException {
         String title = getTitleByIndex(index);
         if (getStartTimes().containsKey(title)) {
-            Time time = new Time(hour, minute);
-            if (!getStartTimes().get(title).add(time)) {
-                throw new AlreadyExistsException("Error: Este horario de inicio ya existe para esta película: " + title + " - " + time);
+            if (!hasScreeningRoom(title, screeningRoom)) {
+                throw new NotFoundException("Error: " + title + " is not assigned to screen " + screeningRoom.getId() + ".");
+            }
+            Time time = Time.of(hour, minute);
+            ShowingIndex times = getStartTimes().get(title);
+            if (times.contains(time, screeningRoom)) {
+                throw new AlreadyExistsException("Error: Este horario de inicio ya existe para esta película: " + title + " - " + time + " (Screen " + screeningRoom.getId() + ")");
             }
-            cinemaTicketOffice.updateTicketStock(title, time, getScreeningRoomByTitle(title));
+            Showing showing = new Showing(title, time, screeningRoom);
+            getTimeline().add(showing, getMovies().get(title).getRuntimeMinutes());
+            times.add(time, screeningRoom);
+            getShowings().add(showing);
+            cinemaTicketOffice.updateTicketStock(showing);
         } else {
             throw new NotFoundException("Error: Película no encontrada en el índice: " + index);
         }
@@ -119,16 +368,21 @@ public class Showtimes implements Serializable {
 
     /**
      * Agrega una sala de proyección a una película en particular.
+     * Una película puede proyectarse en varias salas a la vez.
      *
      * @param index          El índice de la película.
      * @param screeningRoom  La sala de proyección a agregar.
      * @throws NotFoundException    Si no se encuentra la película en el sistema.
      * @throws InvalidIndexException Si el índice de la película es inválido.
+     * @throws AlreadyExistsException Si la sala ya está asignada a la película.
      */
-    public void addScreeningRoom(int index, ScreeningRoom screeningRoom) throws NotFoundException, InvalidIndexException {
+    public void addScreeningRoom(int index, ScreeningRoom screeningRoom) throws NotFoundException, InvalidIndexException, AlreadyExistsException {
         String title = getTitleByIndex(index);
         if (getMovies().containsKey(title)) {
-            getScreeningRooms().put(title, screeningRoom);
+            EnumSet<ScreeningRoom> rooms = getScreeningRooms().computeIfAbsent(title, key -> EnumSet.noneOf(ScreeningRoom.class));
+            if (!rooms.add(screeningRoom)) {
+                throw new AlreadyExistsException("Error: " + title + " is already assigned to screen " + screeningRoom.getId() + ".");
+            }
         } else {
             throw new NotFoundException("Error: Película no encontrada en el índice: " + index);
         }
@@ -157,16 +411,28 @@ public class Showtimes implements Serializable {
     }
 
     /**
-     * Obtiene los horarios de inicio de proyección de una película por su título.
+     * Verifica si una sala de proyección está asignada a una película.
+     *
+     * @param title         El título de la película.
+     * @param screeningRoom La sala de proyección.
+     * @return `true` si la sala está asignada a la película, `false` en caso contrario.
+     */
+    public boolean hasScreeningRoom(String title, ScreeningRoom screeningRoom) {
+        EnumSet<ScreeningRoom> rooms = getScreeningRooms().get(title);
+        return rooms != null && rooms.contains(screeningRoom);
+    }
+
+    /**
+     * Obtiene las funciones de una película por su título, en todas sus salas.
      *
      * @param title El título de la película.
-     * @return Un conjunto ordenado de los horarios de inicio de proyección de la película.
+     * @return Una lista inmutable de las funciones de la película, ordenadas por horario y sala.
      * @throws NotFoundException Si no se encuentra la película en el sistema.
      */
-    public TreeSet<Time> getStartTimesByTitle(String title) throws NotFoundException {
-        TreeSet<Time> startTimes = getStartTimes().get(title);
+    public List<Showing> getShowingsByTitle(String title) throws NotFoundException {
+        ShowingIndex startTimes = getStartTimes().get(title);
         if (startTimes != null) {
-            return startTimes;
+            return startTimes.asList();
         } else {
             throw new NotFoundException(title + " no tiene horarios de inicio asignados.");
         }
@@ -190,15 +456,15 @@ public class Showtimes implements Serializable {
     }
 
     /**
-     * Obtiene la sala de proyección asignada a una película por su título.
+     * Obtiene las salas de proyección asignadas a una película por su título.
      *
      * @param title El título de la película.
-     * @return La sala de proyección asignada a la película.
-     * @throws NotFoundException Si no se encuentra la película en el sistema.
+     * @return Las salas de proyección asignadas a la película, ordenadas por sala.
+     * @throws NotFoundException Si la película no tiene salas asignadas.
      */
-    public ScreeningRoom getScreeningRoomByTitle(String title) throws NotFoundException {
+    public Set<ScreeningRoom> getScreeningRoomsByTitle(String title) throws NotFoundException {
         if (getScreeningRooms().containsKey(title)) {
-            return getScreeningRooms().get(title);
+            return Collections.unmodifiableSet(getScreeningRooms().get(title));
         } else {
             throw new NotFoundException(title + " no tiene una sala asignada.");
         }
@@ -244,9 +510,9 @@ public class Showtimes implements Serializable {
             builder.append("║ ID ║ ").append(String.format("%-" + maxTitleLength + "s", "TÍTULO")).append(" ║\n");
             builder.append("╠════╬").append("═".repeat(maxTitleLength + 2)).append("╣\n");
 
-            for (int i = 0; i < titles.size(); i++) {
-                int index = i + 1;
-                String title = titles.get(i);
+            int index = 0;
+            for (String title : getTitles()) {
+                index++;
                 builder.append("║ ").append(String.format("%2d", index)).append(" ║ ").append(String.format("%-" + maxTitleLength + "s", title)).append(" ║\n");
             }
 
@@ -284,28 +550,49 @@ public class Showtimes implements Serializable {
      */
     @Override
     public String toString() {
+        return toString(new HashMap<>());
+    }
+
+    /**
+     * Devuelve una representación en forma de cadena de texto del objeto actual,
+     * indicando junto a cada horario la cantidad de asientos libres.
+     *
+     * @param availableSeats Cantidad de asientos libres de cada función.
+     * @return Representación en forma de cadena de texto del objeto actual.
+     */
+    public String toString(HashMap<Showing, Integer> availableSeats) {
         if (!getTitles().isEmpty()) {
             StringBuilder builder = new StringBuilder();
             builder.append("╔═══════════════════════╗\n");
             builder.append("║      SHOWTIMES        ║\n");
             builder.append("╚═══════════════════════╝\n");
 
-            for (String title : getMovies().keySet()) {
+            for (String title : getTitles()) {
                 builder.append("\nTitle: ").append(title).append("\n");
-                TreeSet<Time> times = getStartTimes().get(title);
+                ShowingIndex times = getStartTimes().get(title);
 
                 if (times.isEmpty()) {
                     builder.append("No showtimes available.\n");
                 } else {
                     builder.append("Showtimes:\n");
-                    for (Time time : times) {
-                        builder.append("   • ").append(time).append("\n");
+                    for (Showing showing : times) {
+                        builder.append("   • ").append(showing.getTime()).append(" - Screen ").append(showing.getScreeningRoom().getId());
+                        Integer seats = availableSeats.get(showing);
+                        if (seats != null) {
+                            builder.append(" (").append(seats).append(" seats left)");
+                        }
+                        builder.append("\n");
                     }
                 }
 
                 if (hasScreeningRoomByTitle(title)) {
-                    ScreeningRoom screeningRoom = getScreeningRooms().get(title);
-                    builder.append("Screen: ").append(screeningRoom.getId()).append("\n");
+                    builder.append("Screens: ");
+                    String separator = "";
+                    for (ScreeningRoom screeningRoom : getScreeningRooms().get(title)) {
+                        builder.append(separator).append(screeningRoom.getId());
+                        separator = ", ";
+                    }
+                    builder.append("\n");
                 } else {
                     builder.append("Screening Room: Not assigned\n");
                 }
@@ -319,6 +606,28 @@ public class Showtimes implements Serializable {
         }
     }
 
+    /**
+     * Obtiene las funciones de todas las películas que comienzan dentro de un rango de horarios,
+     * ordenadas por horario y sala.
+     * La búsqueda recorre solo las funciones del rango, sin revisar los horarios de cada película.
+     *
+     * @param from Horario desde el cual buscar, inclusive.
+     * @param to   Horario hasta el cual buscar, inclusive.
+     * @return Una vista ordenada e inmutable de las funciones en el rango.
+     */
+    public NavigableSet<Showing> getShowingsBetween(Time from, Time to) {
+        if (from.compareTo(to) > 0) {
+            return Collections.emptyNavigableSet();
+        }
+        NavigableSet<Showing> range;
+        if (to.equals(Time.of(23, 59))) {
+            range = getShowings().tailSet(Showing.lowerBound(from), true);
+        } else {
+            range = getShowings().subSet(Showing.lowerBound(from), true, Showing.lowerBound(Time.ofMinutes(to.toMinutes() + 1)), false);
+        }
+        return Collections.unmodifiableNavigableSet(range);
+    }
+
     /**
      * Devuelve los horarios de proyección de una película específica.
      *
@@ -328,15 +637,16 @@ public class Showtimes implements Serializable {
      */
     public String getMovieShowtimes(String title) throws NotFoundException {
         if (startTimes.containsKey(title)) {
-            TreeSet<Time> times = startTimes.get(title);
-            Time[] timesArray = times.toArray(new Time[0]);
+            List<Showing> times = startTimes.get(title).asList();
 
             StringBuilder builder = new StringBuilder();
             builder.append("Showtimes for ").append(title).append(":\n");
 
-            for (int i = 0; i < timesArray.length; i++) {
+            for (int i = 0; i < times.size(); i++) {
                 int index = i + 1;
-                builder.append(index).append(". ").append(timesArray[i]).append("\n");
+                Showing showing = times.get(i);
+                builder.append(index).append(". ").append(showing.getTime())
+                        .append(" - Screen ").append(showing.getScreeningRoom().getId()).append("\n");
             }
 
             return builder.toString();
@@ -346,22 +656,21 @@ public class Showtimes implements Serializable {
     }
 
     /**
-     * Devuelve el horario de proyección de una película específica basado en su índice.
+     * Devuelve una función de una película específica basada en su índice.
      *
      * @param title Título de la película.
-     * @param index Índice del horario de proyección.
-     * @return Horario de proyección de la película.
+     * @param index Índice de la función.
+     * @return La función de la película, con su horario y su sala.
      * @throws NotFoundException    Si no se encuentra la película.
      * @throws InvalidIndexException Si el índice proporcionado es inválido.
      */
-    public Time getTimeByIndex(String title, int index) throws NotFoundException, InvalidIndexException {
+    public Showing getShowingByIndex(String title, int index) throws NotFoundException, InvalidIndexException {
         index = index - 1;
         if (getStartTimes().containsKey(title)) {
-            TreeSet<Time> times = getStartTimes().get(title);
-            Time[] timesArray = times.toArray(new Time[0]);
+            ShowingIndex times = getStartTimes().get(title);
 
-            if (index >= 0 && index < timesArray.length) {
-                return timesArray[index];
+            if (index >= 0 && index < times.size()) {
+                return times.get(index);
             } else {
                 throw new InvalidIndexException("Error: This start time index doesn't exist");
             }
@@ -381,7 +690,7 @@ public class Showtimes implements Serializable {
     public boolean isAvailableForSale(int index) throws NotFoundException, InvalidIndexException {
         String title = getTitleByIndex(index);
         if (hasScreeningRoomByTitle(title)) {
-            TreeSet<Time> times = getStartTimes().get(title);
+            ShowingIndex times = getStartTimes().get(title);
             return !times.isEmpty();
         } else {
             return false;
@@ -389,22 +698,26 @@ public class Showtimes implements Serializable {
     }
 
     /**
-     * Elimina un horario de proyección de una película específica.
+     * Elimina una función de una película específica.
      *
      * @param index               Índice de la película.
-     * @param time                Horario de proyección a eliminar.
+     * @param time                Horario de la función a eliminar.
+     * @param screeningRoom       Sala de la función a eliminar.
      * @param cinemaTicketOffice  Objeto CinemaTicketOffice asociado.
-     * @throws NotFoundException    Si no se encuentra la película o el horario de proyección.
+     * @throws NotFoundException    Si no se encuentra la película o la función.
      * @throws InvalidIndexException Si el índice proporcionado es inválido.
      */
-    public void removeTime(int index, Time time, CinemaTicketOffice cinemaTicketOffice) throws NotFoundException, InvalidIndexException {
+    public void removeTime(int index, Time time, ScreeningRoom screeningRoom, CinemaTicketOffice cinemaTicketOffice) throws NotFoundException, InvalidIndexException {
         String title = getTitleByIndex(index);
         if (getStartTimes().containsKey(title)) {
-            TreeSet<Time> times = getStartTimes().get(title);
-            if (times.remove(time)) {
-                cinemaTicketOffice.removeTicketStock(title, time, getScreeningRoomByTitle(title));
+            ShowingIndex times = getStartTimes().get(title);
+            if (times.remove(time, screeningRoom)) {
+                Showing showing = new Showing(title, time, screeningRoom);
+                getShowings().remove(showing);
+                getTimeline().remove(showing);
+                cinemaTicketOffice.removeTicketStock(showing);
             } else {
-                throw new NotFoundException("Error: This start time doesn't exist for this movie: " + title + " - " + time);
+                throw new NotFoundException("Error: This start time doesn't exist for this movie: " + title + " - " + time + " (Screen " + screeningRoom.getId() + ")");
             }
         } else {
             throw new NotFoundException("Error: Movie not found at index: " + index);
@@ -422,7 +735,7 @@ public class Showtimes implements Serializable {
     public boolean hasStartTimesByIndex(int index) throws NotFoundException, InvalidIndexException {
         String title = getTitleByIndex(index);
         if (getStartTimes().containsKey(title)) {
-            TreeSet<Time> times = getStartTimes().get(title);
+            ShowingIndex times = getStartTimes().get(title);
             return !times.isEmpty();
         } else {
             throw new NotFoundException("Error: Movie not found at index: " + index);
@@ -430,43 +743,45 @@ public class Showtimes implements Serializable {
     }
 
     /**
-     * Elimina la sala de proyección de una película específica.
-     * También elimina todos los horarios de proyección asociados a la película.
+     * Elimina una sala de proyección de una película específica.
+     * También elimina todas las funciones de la película en esa sala.
      *
      * @param index               Índice de la película.
+     * @param screeningRoom       Sala de proyección a eliminar.
      * @param cinemaTicketOffice  Objeto CinemaTicketOffice asociado.
-     * @throws NotFoundException    Si no se encuentra la película o la sala de proyección.
+     * @throws NotFoundException    Si no se encuentra la película o la sala no está asignada a la película.
      * @throws InvalidIndexException Si el índice proporcionado es inválido.
      */
-    public void removeScreeningRoom(int index, CinemaTicketOffice cinemaTicketOffice) throws NotFoundException, InvalidIndexException {
+    public void removeScreeningRoom(int index, ScreeningRoom screeningRoom, CinemaTicketOffice cinemaTicketOffice) throws NotFoundException, InvalidIndexException {
         String title = getTitleByIndex(index);
-        if (hasScreeningRoomByTitle(title)) {
+        if (hasScreeningRoom(title, screeningRoom)) {
 
-            // Verificar y eliminar los horarios de la película
-            if (hasStartTimesByIndex(index)) {
-                TreeSet<Time> times = getStartTimes().get(title);
-                Time[] timesArray = times.toArray(new Time[0]);
-
-                // Eliminar todos los horarios de la película
-                for (Time time : timesArray) {
+            // Eliminar las funciones de la película en esa sala; la vista no cambia aunque se modifique el índice
+            for (Showing showing : getStartTimes().get(title).asList()) {
+                if (showing.getScreeningRoom() == screeningRoom) {
                     try {
-                        removeTime(index, time, cinemaTicketOffice);
+                        removeTime(index, showing.getTime(), screeningRoom, cinemaTicketOffice);
                     } catch (NotFoundException e) {
                         // Manejar excepción si no se encuentra el horario (opcional)
                         System.out.println("Error: Failed to remove time - " + e.getMessage());
                     }
                 }
             }
+
             // Eliminar la sala de proyección
-            getScreeningRooms().remove(title);
+            EnumSet<ScreeningRoom> rooms = getScreeningRooms().get(title);
+            rooms.remove(screeningRoom);
+            if (rooms.isEmpty()) {
+                getScreeningRooms().remove(title);
+            }
         } else {
-            throw new NotFoundException("Error: " + title + "doesn't have a screen assigned.");
+            throw new NotFoundException("Error: " + title + " doesn't have screen " + screeningRoom.getId() + " assigned.");
         }
     }
 
     /**
      * Elimina una película específica.
-     * También elimina la sala de proyección, los horarios de proyección y el título de la película.
+     * También elimina sus salas de proyección, sus funciones y el título de la película.
      *
      * @param index               Índice de la película.
      * @param cinemaTicketOffice  Objeto CinemaTicketOffice asociado.
@@ -476,16 +791,23 @@ public class Showtimes implements Serializable {
     public void removeMovie(int index, CinemaTicketOffice cinemaTicketOffice) throws NotFoundException, InvalidIndexException {
         String title = getTitleByIndex(index);
 
-        // Eliminar la sala de proyección asociada a la película
-        removeScreeningRoom(index, cinemaTicketOffice);
+        // Eliminar las salas de proyección asociadas a la película, junto con sus funciones
+        if (hasScreeningRoomByTitle(title)) {
+            for (ScreeningRoom screeningRoom : EnumSet.copyOf(getScreeningRooms().get(title))) {
+                removeScreeningRoom(index, screeningRoom, cinemaTicketOffice);
+            }
+        }
 
         // Eliminar los horarios de la película
         getStartTimes().remove(title);
 
-        // Eliminar la película del mapa de películas
+        // Eliminar la película de los índices y del mapa de películas
+        getMovieIndex().remove(getMovies().get(title));
+        getAutocomplete().remove(getMovies().get(title));
+        getFullTextIndex().remove(getMovies().get(title));
         getMovies().remove(title);
 
-        // Eliminar el título de la película del LinkedList
+        // Eliminar el título de la película del catálogo
         getTitles().remove(title);
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package modeling;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario de textos compartidos por muchas películas, como los géneros o los idiomas.
+ * Cada texto distinto se guarda una sola vez y todas las películas apuntan a la misma instancia,
+ * lo que reduce la memoria y el tamaño del archivo guardado.
+ * Solo debe usarse con datos que tienen pocos valores distintos, porque los textos nunca se eliminan.
+ */
+public class StringPool {
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>();
+
+    /**
+     * Obtiene la instancia compartida de un texto.
+     *
+     * @param value el texto
+     * @return la instancia compartida igual al texto, o null si el texto es null
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = POOL.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+}
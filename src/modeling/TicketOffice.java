@@ -12,6 +12,9 @@ import java.io.Serializable;
  * @version 1.0.3
  */
 public abstract class TicketOffice implements IAdditionalCost, Serializable {
+    private static final int ROOM_SHIFT = 11; // 11 bits para el minuto del día, 4 bits para la sala de proyección
+    private static final int TITLE_SHIFT = 15; // 32 bits para el identificador de la película
+
     private double price; // Precio base de la entrada
     private double additionalCost; // Costo adicional de la entrada
 
@@ -70,16 +73,19 @@ public abstract class TicketOffice implements IAdditionalCost, Serializable {
     }
 
     /**
-     * Genera una clave única para un ticket de entrada utilizando el título de la película,
-     * el horario y el asiento.
+     * Genera una clave única para una función empaquetando en un long el identificador de la película,
+     * la sala de proyección y el minuto del día de la función.
+     * A diferencia de concatenar cadenas, no crea objetos ni da formato al horario.
      *
-     * @param title El título de la película.
-     * @param time  El horario de la función.
-     * @param seat  El número de asiento.
-     * @return La clave única del ticket de entrada.
+     * @param titleId       El identificador numérico de la película.
+     * @param screeningRoom La sala de proyección.
+     * @param time          El horario de la función.
+     * @return La clave única de la función.
      */
-    public static String generateTicketKey(String title, Time time, String seat) {
-        return title + "-" + time + "-" + seat;
+    public static long generateShowingKey(int titleId, ScreeningRoom screeningRoom, Time time) {
+        return ((long) titleId << TITLE_SHIFT)
+                | ((long) screeningRoom.getId() << ROOM_SHIFT)
+                | time.toMinutes();
     }
 
     /**
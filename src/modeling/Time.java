@@ -6,32 +6,79 @@ import java.io.Serializable;
  * La clase Time representa una hora específica con horas y minutos.
  * Proporciona métodos para convertir la hora en una cadena formateada,
  * calcular la hora en minutos y comparar dos objetos Time.
+ * Cada hora del día tiene una única instancia, guardada como minutos desde la medianoche
+ * y con su representación en cadena ya calculada, por lo que se puede usar directamente como clave de un mapa.
  * @author Matias
  * @since 06/2023
  * @version 1.0.3
  */
 public class Time implements Comparable<Time>, Serializable {
-    private final int hour;
-    private final int minute;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final Time[] CACHE = createCache();
+
+    private final int minuteOfDay;
+    private final transient String text;
+
+    /**
+     * Construye un objeto Time a partir de los minutos transcurridos desde la medianoche.
+     *
+     * @param minuteOfDay los minutos desde la medianoche (0-1439)
+     */
+    private Time(int minuteOfDay) {
+        this.minuteOfDay = minuteOfDay;
+        this.text = format(minuteOfDay / 60, minuteOfDay % 60);
+    }
 
     /**
-     * Construye un objeto Time con la hora y los minutos especificados.
+     * Obtiene el objeto Time con la hora y los minutos especificados.
      *
      * @param hour   el valor de la hora (0-23)
      * @param minute el valor de los minutos (0-59)
+     * @return la única instancia de Time para esa hora
+     * @throws IllegalArgumentException si la hora o los minutos están fuera de rango
      */
-    public Time(int hour, int minute) {
-        this.hour = hour;
-        this.minute = minute;
+    public static Time of(int hour, int minute) {
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            throw new IllegalArgumentException("Invalid time: " + hour + ":" + minute);
+        }
+        return CACHE[hour * 60 + minute];
     }
 
     /**
-     * Devuelve una representación en cadena del objeto Time en el formato "HH:MMam/pm".
+     * Obtiene el objeto Time correspondiente a los minutos transcurridos desde la medianoche.
+     *
+     * @param minuteOfDay los minutos desde la medianoche (0-1439)
+     * @return la única instancia de Time para esa hora
+     * @throws IllegalArgumentException si los minutos están fuera de rango
+     */
+    public static Time ofMinutes(int minuteOfDay) {
+        if (minuteOfDay < 0 || minuteOfDay >= MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Invalid minute of day: " + minuteOfDay);
+        }
+        return CACHE[minuteOfDay];
+    }
+
+    /**
+     * Crea las instancias de todas las horas del día.
+     *
+     * @return un arreglo con una instancia por cada minuto del día
+     */
+    private static Time[] createCache() {
+        Time[] cache = new Time[MINUTES_PER_DAY];
+        for (int i = 0; i < MINUTES_PER_DAY; i++) {
+            cache[i] = new Time(i);
+        }
+        return cache;
+    }
+
+    /**
+     * Da formato a una hora en el formato "HH:MMam/pm".
      *
+     * @param hour   el valor de la hora (0-23)
+     * @param minute el valor de los minutos (0-59)
      * @return una cadena formateada que representa la hora
      */
-    @Override
-    public String toString() {
+    private static String format(int hour, int minute) {
         int adjustedHour = hour % 12;
         String h = String.format("%02d", adjustedHour);
         String m = String.format("%02d", minute);
@@ -40,12 +87,40 @@ public class Time implements Comparable<Time>, Serializable {
     }
 
     /**
-     * Convierte la hora a minutos.
+     * Devuelve la hora.
+     *
+     * @return el valor de la hora (0-23)
+     */
+    public int getHour() {
+        return minuteOfDay / 60;
+    }
+
+    /**
+     * Devuelve los minutos.
+     *
+     * @return el valor de los minutos (0-59)
+     */
+    public int getMinute() {
+        return minuteOfDay % 60;
+    }
+
+    /**
+     * Devuelve una representación en cadena del objeto Time en el formato "HH:MMam/pm".
      *
-     * @return la hora en minutos
+     * @return una cadena formateada que representa la hora
      */
-    private int toMinutes() {
-        return hour * 60 + minute;
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * Convierte la hora a minutos desde la medianoche.
+     *
+     * @return la hora en minutos (0-1439)
+     */
+    public int toMinutes() {
+        return minuteOfDay;
     }
 
     /**
@@ -61,6 +136,36 @@ public class Time implements Comparable<Time>, Serializable {
         if (otherTime == null) {
             throw new NullPointerException("No se puede comparar con un objeto nulo.");
         }
-        return Integer.compare(toMinutes(), otherTime.toMinutes());
+        return Integer.compare(minuteOfDay, otherTime.minuteOfDay);
+    }
+
+    /**
+     * Indica si otro objeto representa la misma hora.
+     *
+     * @param other el objeto a comparar
+     * @return true si el otro objeto es un Time con la misma hora, false en caso contrario
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Time && ((Time) other).minuteOfDay == minuteOfDay;
+    }
+
+    /**
+     * Devuelve el código hash de la hora, que coincide con los minutos desde la medianoche.
+     *
+     * @return el código hash
+     */
+    @Override
+    public int hashCode() {
+        return minuteOfDay;
+    }
+
+    /**
+     * Reemplaza la instancia leída de un archivo por la instancia única de esa hora.
+     *
+     * @return la instancia única de Time para esa hora
+     */
+    private Object readResolve() {
+        return ofMinutes(minuteOfDay);
     }
 }
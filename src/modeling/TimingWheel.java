@@ -0,0 +1,103 @@
+package modeling;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * Rueda de temporización con hash (hashed timing wheel) para programar vencimientos.
+ * El tiempo se divide en ticks de duración fija y cada elemento se guarda en la ranura de su tick de vencimiento,
+ * por lo que agregar un elemento cuesta O(1) y avanzar la rueda solo recorre las ranuras de los ticks transcurridos.
+ * No usa hilos propios: los vencimientos se procesan cuando se llama a advance.
+ *
+ * @param <T> el tipo de los elementos programados
+ */
+public class TimingWheel<T> implements Serializable {
+    private final long tickMillis;
+    private final ArrayList<LinkedList<Entry<T>>> slots;
+    private long currentTick;
+
+    /**
+     * Crea una rueda de temporización.
+     *
+     * @param tickMillis la duración de cada tick en milisegundos
+     * @param slotCount  la cantidad de ranuras de la rueda
+     * @param nowMillis  el instante actual en milisegundos
+     */
+    public TimingWheel(long tickMillis, int slotCount, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new LinkedList<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Programa el vencimiento de un elemento.
+     *
+     * @param item           el elemento
+     * @param deadlineMillis el instante de vencimiento en milisegundos
+     */
+    public void schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        slots.get(slotOf(deadlineTick)).add(new Entry<>(item, deadlineTick));
+    }
+
+    /**
+     * Avanza la rueda hasta el instante indicado y devuelve los elementos vencidos.
+     *
+     * @param nowMillis el instante actual en milisegundos
+     * @return los elementos cuyo vencimiento ya pasó
+     */
+    public LinkedList<T> advance(long nowMillis) {
+        LinkedList<T> expired = new LinkedList<>();
+        long nowTick = nowMillis / tickMillis;
+        // Si pasó más de una vuelta completa alcanza con recorrer cada ranura una sola vez
+        long firstTick = Math.max(currentTick + 1, nowTick - slots.size() + 1);
+        for (long tick = firstTick; tick <= nowTick; tick++) {
+            Iterator<Entry<T>> iterator = slots.get(slotOf(tick)).iterator();
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+                if (entry.deadlineTick <= nowTick) {
+                    expired.add(entry.item);
+                    iterator.remove();
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+        return expired;
+    }
+
+    /**
+     * Obtiene la ranura correspondiente a un tick.
+     *
+     * @param tick el tick
+     * @return el índice de la ranura
+     */
+    private int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.size());
+    }
+
+    /**
+     * Elemento programado junto con el tick en el que vence.
+     *
+     * @param <T> el tipo del elemento
+     */
+    private static class Entry<T> implements Serializable {
+        private final T item;
+        private final long deadlineTick;
+
+        /**
+         * Crea una entrada de la rueda.
+         *
+         * @param item         el elemento
+         * @param deadlineTick el tick de vencimiento
+         */
+        private Entry(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package modeling;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Catálogo de títulos de películas respaldado por un arreglo.
+ * Los títulos se mantienen en el orden en que se agregaron, por lo que agregar un título no cambia
+ * la posición de los demás. Permite obtener un título por su posición en O(1), eliminar un título en O(1)
+ * gracias a un índice inverso de título a posición, y recorrer los títulos en orden en O(n).
+ * Las posiciones que quedan libres al eliminar se compactan recién en el siguiente acceso por posición.
+ */
+public class TitleCatalog implements Iterable<String>, Serializable {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String[] slots; // Títulos en orden de alta; null en las posiciones eliminadas
+    private int usedSlots; // Cantidad de posiciones usadas del arreglo, incluyendo las eliminadas
+    private int size; // Cantidad de títulos del catálogo
+    private final HashMap<String, Integer> slotByTitle; // Índice inverso de título a posición en el arreglo
+
+    /**
+     * Crea un catálogo vacío.
+     */
+    public TitleCatalog() {
+        slots = new String[INITIAL_CAPACITY];
+        usedSlots = 0;
+        size = 0;
+        slotByTitle = new HashMap<>();
+    }
+
+    /**
+     * Obtiene la cantidad de títulos del catálogo.
+     *
+     * @return la cantidad de títulos
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Verifica si el catálogo está vacío.
+     *
+     * @return true si no hay títulos, false en caso contrario
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Verifica si el catálogo contiene un título.
+     *
+     * @param title el título a buscar
+     * @return true si el título está en el catálogo, false en caso contrario
+     */
+    public boolean contains(String title) {
+        return slotByTitle.containsKey(title);
+    }
+
+    /**
+     * Agrega un título al final del catálogo.
+     *
+     * @param title el título a agregar
+     * @return true si el título se agregó, false si ya estaba en el catálogo
+     */
+    public boolean add(String title) {
+        if (contains(title)) {
+            return false;
+        }
+        if (usedSlots == slots.length) {
+            compact();
+            if (usedSlots == slots.length) {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+            }
+        }
+        slots[usedSlots] = title;
+        slotByTitle.put(title, usedSlots);
+        usedSlots++;
+        size++;
+        return true;
+    }
+
+    /**
+     * Elimina un título del catálogo.
+     *
+     * @param title el título a eliminar
+     * @return true si el título se eliminó, false si no estaba en el catálogo
+     */
+    public boolean remove(String title) {
+        Integer slot = slotByTitle.remove(title);
+        if (slot == null) {
+            return false;
+        }
+        slots[slot] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Obtiene el título que ocupa una posición del catálogo.
+     *
+     * @param position la posición del título, comenzando en 0
+     * @return el título en esa posición
+     * @throws IndexOutOfBoundsException si la posición no existe
+     */
+    public String get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", size: " + size);
+        }
+        if (usedSlots != size) {
+            compact();
+        }
+        return slots[position];
+    }
+
+    /**
+     * Obtiene la posición de un título en el catálogo.
+     *
+     * @param title el título buscado
+     * @return la posición del título, comenzando en 0, o -1 si no está en el catálogo
+     */
+    public int indexOf(String title) {
+        if (!slotByTitle.containsKey(title)) {
+            return -1;
+        }
+        if (usedSlots != size) {
+            compact();
+        }
+        return slotByTitle.get(title);
+    }
+
+    /**
+     * Mueve los títulos hacia el comienzo del arreglo, eliminando las posiciones libres.
+     */
+    private void compact() {
+        int target = 0;
+        for (int i = 0; i < usedSlots; i++) {
+            String title = slots[i];
+            if (title != null) {
+                if (target != i) {
+                    slots[target] = title;
+                    slotByTitle.put(title, target);
+                }
+                target++;
+            }
+        }
+        Arrays.fill(slots, target, usedSlots, null);
+        usedSlots = target;
+    }
+
+    /**
+     * Devuelve un iterador que recorre los títulos en orden.
+     *
+     * @return un iterador de los títulos
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int next = advance(0);
+
+            private int advance(int slot) {
+                while (slot < usedSlots && slots[slot] == null) {
+                    slot++;
+                }
+                return slot;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < usedSlots;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String title = slots[next];
+                next = advance(next + 1);
+                return title;
+            }
+        };
+    }
+}